@@ -0,0 +1,22 @@
+package apps;
+
+import java.io.IOException;
+
+import structures.Vertex;
+
+/**
+ * Receives the arcs of an MST one at a time, as the algorithm accepts them, so
+ * that the result never has to be held in memory as a whole.
+ */
+public interface ArcSink {
+
+	/**
+	 * Receives one arc of the MST.
+	 * 
+	 * @param v1 Vertex at one end of the arc
+	 * @param v2 Vertex at the other end of the arc
+	 * @param weight Weight of the arc
+	 * @throws IOException If the arc cannot be handled
+	 */
+	void arc(Vertex v1, Vertex v2, int weight) throws IOException;
+}
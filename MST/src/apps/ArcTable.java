@@ -0,0 +1,120 @@
+package apps;
+
+import java.util.Arrays;
+
+import structures.Vertex;
+
+/**
+ * Shared store of arcs packed into longs, so that partial trees can keep their
+ * arcs in primitive heaps. A packed arc has the arc weight in its high 32 bits
+ * and an arc number in its low 32 bits, so packed arcs order by weight just as
+ * PartialTree.Arc objects do. The two endpoints are looked up by arc number.
+ */
+public class ArcTable {
+
+	/**
+	 * Vertices the endpoint ids refer to.
+	 */
+	private final Vertex[] vertices;
+
+	/**
+	 * Ids of the first (tree side) and second endpoint of every arc.
+	 */
+	private int[] v1, v2;
+
+	/**
+	 * Number of arcs.
+	 */
+	private int size;
+
+	/**
+	 * Initializes an empty arc table.
+	 * 
+	 * @param vertices Vertices of the graph
+	 * @param cap Initial capacity
+	 */
+	public ArcTable(Vertex[] vertices, int cap) {
+		this.vertices = vertices;
+		cap = Math.max(cap, 16);
+		v1 = new int[cap];
+		v2 = new int[cap];
+		size = 0;
+	}
+
+	/**
+	 * Adds an arc to the table.
+	 * 
+	 * @param v1 Vertex at one end of the arc.
+	 * @param v2 Vertex at the other end of the arc.
+	 * @param weight Weight of the arc.
+	 * @return Packed arc
+	 */
+	public long add(Vertex v1, Vertex v2, int weight) {
+		if (size == this.v1.length) {
+			this.v1 = Arrays.copyOf(this.v1, size*2);
+			this.v2 = Arrays.copyOf(this.v2, size*2);
+		}
+		this.v1[size] = v1.id;
+		this.v2[size] = v2.id;
+		return ((long)weight << 32) | size++;
+	}
+
+	/**
+	 * Returns the first endpoint of a packed arc.
+	 * 
+	 * @param arc Packed arc
+	 * @return Vertex at one end of the arc
+	 */
+	public Vertex v1(long arc) {
+		return vertices[v1[(int)arc]];
+	}
+
+	/**
+	 * Returns the second endpoint of a packed arc.
+	 * 
+	 * @param arc Packed arc
+	 * @return Vertex at the other end of the arc
+	 */
+	public Vertex v2(long arc) {
+		return vertices[v2[(int)arc]];
+	}
+
+	/**
+	 * Returns the weight of a packed arc.
+	 * 
+	 * @param arc Packed arc
+	 * @return Weight of the arc
+	 */
+	public static int weight(long arc) {
+		return (int)(arc >> 32);
+	}
+
+	/**
+	 * Creates the arc object for a packed arc.
+	 * 
+	 * @param arc Packed arc
+	 * @return Arc object
+	 */
+	public PartialTree.Arc toArc(long arc) {
+		return new PartialTree.Arc(v1(arc), v2(arc), weight(arc));
+	}
+
+	/**
+	 * Returns the string form of a packed arc, the same as that of its arc object.
+	 * 
+	 * @param arc Packed arc
+	 * @return String form of the arc
+	 */
+	public String toString(long arc) {
+		return "(" + v1(arc) + " " + v2(arc) + " " + weight(arc) + ")";
+	}
+
+	/**
+	 * Returns the number of arcs.
+	 * 
+	 * @return Number of arcs
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,194 @@
+package apps;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import structures.Vertex;
+
+/**
+ * Writes MST arcs to a channel as they arrive, one "name name weight" line per
+ * arc (the same form as the edges of a graph description), through a single
+ * fixed-size buffer. Memory use does not grow with the number of arcs.
+ */
+public class ArcWriter implements ArcSink, Closeable {
+
+	/**
+	 * Size of the output buffer, in bytes.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Channel written to.
+	 */
+	private final WritableByteChannel channel;
+
+	/**
+	 * Output buffer.
+	 */
+	private final ByteBuffer buf;
+
+	/**
+	 * Number of arcs written, and their total weight.
+	 */
+	private long count, totalWeight;
+
+	/**
+	 * Initializes a writer over a channel.
+	 * 
+	 * @param channel Channel to write to
+	 */
+	public ArcWriter(WritableByteChannel channel) {
+		this.channel = channel;
+		buf = ByteBuffer.allocate(BUFFER_SIZE);
+	}
+
+	/**
+	 * Initializes a writer over an output stream, such as System.out.
+	 * 
+	 * @param out Stream to write to
+	 */
+	public ArcWriter(OutputStream out) {
+		this(Channels.newChannel(out));
+	}
+
+	/**
+	 * Opens a writer over a file, which is created or truncated.
+	 * 
+	 * @param file Name of the output file
+	 * @return Writer over the file
+	 * @throws IOException If the file cannot be opened
+	 */
+	public static ArcWriter open(String file)
+	throws IOException {
+		return new ArcWriter(FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+	}
+
+	/* (non-Javadoc)
+	 * @see apps.ArcSink#arc(structures.Vertex, structures.Vertex, int)
+	 */
+	public void arc(Vertex v1, Vertex v2, int weight)
+	throws IOException {
+		put(v1.name);
+		put(' ');
+		put(v2.name);
+		put(' ');
+		put(weight);
+		put('\n');
+		count++;
+		totalWeight += weight;
+	}
+
+	private void put(char c)
+	throws IOException {
+		if (!buf.hasRemaining()) {
+			flushBuffer();
+		}
+		buf.put((byte)c);
+	}
+
+	private void put(String s)
+	throws IOException {
+		for (int i=0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c >= 0x80) {
+				// rare: encode the whole name the slow way
+				byte[] b = s.getBytes(StandardCharsets.UTF_8);
+				for (int j=0; j < b.length; ) {
+					if (!buf.hasRemaining()) {
+						flushBuffer();
+					}
+					int k = Math.min(buf.remaining(), b.length - j);
+					buf.put(b, j, k);
+					j += k;
+				}
+				return;
+			}
+		}
+		for (int i=0; i < s.length(); i++) {
+			put(s.charAt(i));
+		}
+	}
+
+	private void put(int n)
+	throws IOException {
+		if (buf.remaining() < 11) {
+			flushBuffer();
+		}
+		long v = n;
+		if (v < 0) {
+			buf.put((byte)'-');
+			v = -v;
+		}
+		int digits = 1;
+		for (long p=10; p <= v; p *= 10) {
+			digits++;
+		}
+		int end = buf.position() + digits;
+		for (int i=end-1; i >= end-digits; i--) {
+			buf.put(i, (byte)('0' + v % 10));
+			v /= 10;
+		}
+		buf.position(end);
+	}
+
+	private void flushBuffer()
+	throws IOException {
+		buf.flip();
+		while (buf.hasRemaining()) {
+			channel.write(buf);
+		}
+		buf.clear();
+	}
+
+	/**
+	 * Writes out any buffered arcs.
+	 * 
+	 * @throws IOException If the channel cannot be written
+	 */
+	public void flush()
+	throws IOException {
+		flushBuffer();
+	}
+
+	/**
+	 * Writes out any buffered arcs and closes the channel. Use flush() instead to
+	 * leave a stream such as System.out open.
+	 * 
+	 * @throws IOException If the channel cannot be written
+	 */
+	public void close()
+	throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Returns the number of arcs written.
+	 * 
+	 * @return Number of arcs
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Returns the total weight of the arcs written.
+	 * 
+	 * @return Total weight
+	 */
+	public long totalWeight() {
+		return totalWeight;
+	}
+}
@@ -0,0 +1,168 @@
+package apps;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import structures.*;
+
+/**
+ * Boruvka's MST algorithm, run in parallel rounds on a fork/join pool. In every
+ * round each component finds its cheapest outgoing edge at the same time, all
+ * those edges are added to the MST, and the components they join are contracted
+ * with a lock-free union-find. Edges that end up inside a component are dropped
+ * before the next round. Ties in weight are broken by edge index, so the chosen
+ * edges can never form a cycle.
+ */
+public class Boruvka {
+
+	/**
+	 * Marks a component that has no outgoing edge in the current round.
+	 */
+	private static final long NONE = Long.MAX_VALUE;
+
+	/**
+	 * Finds the MST of a graph, using the common fork/join pool.
+	 * 
+	 * @param graph Graph for which the MST is to be found
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(Graph graph) {
+		return execute(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds the MST of a graph.
+	 * 
+	 * @param graph Graph for which the MST is to be found
+	 * @param pool Pool on which the rounds are run
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(Graph graph, ForkJoinPool pool) {
+		final int n = graph.vertices.length;
+		final EdgeList edges = EdgeList.of(graph);
+		final AtomicUnionFind uf = new AtomicUnionFind(n);
+		final AtomicLongArray cheapest = new AtomicLongArray(n);
+		final int[] label = new int[n];
+		final boolean[] chosen = new boolean[edges.count];
+		final AtomicInteger merged = new AtomicInteger();
+
+		// live edges, as indexes into the edge list
+		final int[] live = new int[edges.count];
+		for (int e=0; e < live.length; e++) {
+			live[e] = e;
+		}
+		int liveCount = live.length;
+
+		for (int v=0; v < n; v++) {
+			label[v] = v;
+			cheapest.set(v, NONE);
+		}
+
+		while (liveCount > 0) {
+			final int edgesThisRound = liveCount;
+
+			// every component finds its cheapest outgoing edge
+			ParallelFor.run(pool, 0, edgesThisRound, new ParallelFor.Body() {
+				public void run(int lo, int hi) {
+					for (int i=lo; i < hi; i++) {
+						int e = live[i];
+						long key = EdgeList.key(edges.weight[e], e);
+						lowerTo(cheapest, label[edges.from[e]], key);
+						lowerTo(cheapest, label[edges.to[e]], key);
+					}
+				}
+			});
+
+			// add the cheapest edges, contracting the components they join
+			merged.set(0);
+			ParallelFor.run(pool, 0, n, new ParallelFor.Body() {
+				public void run(int lo, int hi) {
+					int count = 0;
+					for (int v=lo; v < hi; v++) {
+						long key = cheapest.get(v);
+						if (key == NONE) {
+							continue;
+						}
+						cheapest.set(v, NONE);
+						int e = EdgeList.keyEdge(key);
+						if (uf.union(edges.from[e], edges.to[e])) {
+							chosen[e] = true;
+							count++;
+						}
+					}
+					merged.addAndGet(count);
+				}
+			});
+			if (merged.get() == 0) {
+				break;
+			}
+
+			// relabel vertices with their new component
+			ParallelFor.run(pool, 0, n, new ParallelFor.Body() {
+				public void run(int lo, int hi) {
+					for (int v=lo; v < hi; v++) {
+						label[v] = uf.find(v);
+					}
+				}
+			});
+
+			liveCount = compact(pool, live, edgesThisRound, edges, label);
+		}
+
+		ArrayList<PartialTree.Arc> mst = new ArrayList<PartialTree.Arc>(Math.max(n-1, 0));
+		for (int e=0; e < chosen.length; e++) {
+			if (chosen[e]) {
+				mst.add(new PartialTree.Arc(graph.vertices[edges.from[e]], 
+						graph.vertices[edges.to[e]], edges.weight[e]));
+			}
+		}
+		return mst;
+	}
+
+	/**
+	 * Atomically lowers a slot to the given key, if the key is smaller.
+	 */
+	private static void lowerTo(AtomicLongArray a, int i, long key) {
+		for (;;) {
+			long cur = a.get(i);
+			if (key >= cur || a.compareAndSet(i, cur, key)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Drops the edges whose endpoints are now in the same component. Every block
+	 * is compacted in place in parallel, then the blocks are slid together.
+	 * 
+	 * @return Number of edges still live
+	 */
+	private static int compact(ForkJoinPool pool, final int[] live, final int count, 
+			final EdgeList edges, final int[] label) {
+		final int blocks = (count + ParallelFor.GRAIN - 1) / ParallelFor.GRAIN;
+		final int[] kept = new int[blocks];
+		ParallelFor.run(pool, 0, blocks, 1, new ParallelFor.Body() {
+			public void run(int lo, int hi) {
+				for (int b=lo; b < hi; b++) {
+					int start = b*ParallelFor.GRAIN, end = Math.min(start + ParallelFor.GRAIN, count);
+					int k = start;
+					for (int i=start; i < end; i++) {
+						int e = live[i];
+						if (label[edges.from[e]] != label[edges.to[e]]) {
+							live[k++] = e;
+						}
+					}
+					kept[b] = k - start;
+				}
+			}
+		});
+		int total = 0;
+		for (int b=0; b < blocks; b++) {
+			System.arraycopy(live, b*ParallelFor.GRAIN, live, total, kept[b]);
+			total += kept[b];
+		}
+		return total;
+	}
+}
@@ -0,0 +1,153 @@
+package apps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import structures.*;
+
+/**
+ * Connected components of a graph, found in parallel with a lock-free union-find,
+ * and minimum spanning forests computed one component at a time, concurrently.
+ */
+public class Components {
+
+	/**
+	 * Component number of every vertex, indexed by vertex id. Components are
+	 * numbered 0 to count-1 in order of their lowest vertex id.
+	 */
+	public final int[] component;
+
+	/**
+	 * Number of components.
+	 */
+	public final int count;
+
+	private Components(int[] component, int count) {
+		this.component = component;
+		this.count = count;
+	}
+
+	/**
+	 * Finds the connected components of a graph on the common fork/join pool.
+	 * 
+	 * @param graph Graph to partition
+	 * @return Components of the graph
+	 */
+	public static Components find(Graph graph) {
+		return find(graph, EdgeList.of(graph), ForkJoinPool.commonPool());
+	}
+
+	private static Components find(Graph graph, final EdgeList edges, ForkJoinPool pool) {
+		int n = graph.vertices.length;
+		final AtomicUnionFind uf = new AtomicUnionFind(n);
+		ParallelFor.run(pool, 0, edges.count, new ParallelFor.Body() {
+			public void run(int lo, int hi) {
+				for (int e=lo; e < hi; e++) {
+					uf.union(edges.from[e], edges.to[e]);
+				}
+			}
+		});
+		final int[] root = new int[n];
+		ParallelFor.run(pool, 0, n, new ParallelFor.Body() {
+			public void run(int lo, int hi) {
+				for (int v=lo; v < hi; v++) {
+					root[v] = uf.find(v);
+				}
+			}
+		});
+		// renumber roots densely
+		int[] number = new int[n];
+		Arrays.fill(number, -1);
+		int count = 0;
+		for (int v=0; v < n; v++) {
+			if (number[root[v]] < 0) {
+				number[root[v]] = count++;
+			}
+			root[v] = number[root[v]];
+		}
+		return new Components(root, count);
+	}
+
+	/**
+	 * Returns the number of vertices in every component.
+	 * 
+	 * @return Sizes, indexed by component number
+	 */
+	public int[] sizes() {
+		int[] sizes = new int[count];
+		for (int c: component) {
+			sizes[c]++;
+		}
+		return sizes;
+	}
+
+	/**
+	 * Finds the minimum spanning forest of a graph on the common fork/join pool.
+	 * 
+	 * @param graph Graph for which the forest is to be found
+	 * @return Arcs of the spanning tree of every component, indexed by component number
+	 */
+	public static ArrayList<ArrayList<PartialTree.Arc>> spanningForest(Graph graph) {
+		return spanningForest(graph, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds the minimum spanning forest of a graph. The edges are partitioned by
+	 * component, and Kruskal's algorithm runs on every component concurrently, each
+	 * with a union-find of its own sized to the component.
+	 * 
+	 * @param graph Graph for which the forest is to be found
+	 * @param pool Pool on which the components are processed
+	 * @return Arcs of the spanning tree of every component, indexed by component number
+	 */
+	public static ArrayList<ArrayList<PartialTree.Arc>> spanningForest(final Graph graph, ForkJoinPool pool) {
+		final EdgeList edges = EdgeList.of(graph);
+		final Components comps = find(graph, edges, pool);
+		final int n = graph.vertices.length, k = comps.count;
+
+		// number vertices within their component
+		final int[] local = new int[n];
+		final int[] size = new int[k];
+		for (int v=0; v < n; v++) {
+			local[v] = size[comps.component[v]]++;
+		}
+
+		// group edge keys by component
+		final int[] start = new int[k+1];
+		for (int e=0; e < edges.count; e++) {
+			start[comps.component[edges.from[e]]+1]++;
+		}
+		for (int c=0; c < k; c++) {
+			start[c+1] += start[c];
+		}
+		final long[] keys = new long[edges.count];
+		int[] fill = Arrays.copyOf(start, k);
+		for (int e=0; e < edges.count; e++) {
+			keys[fill[comps.component[edges.from[e]]]++] = EdgeList.key(edges.weight[e], e);
+		}
+
+		final ArrayList<ArrayList<PartialTree.Arc>> forest = new ArrayList<ArrayList<PartialTree.Arc>>(k);
+		for (int c=0; c < k; c++) {
+			forest.add(null);
+		}
+		ParallelFor.run(pool, 0, k, 1, new ParallelFor.Body() {
+			public void run(int lo, int hi) {
+				for (int c=lo; c < hi; c++) {
+					ArrayList<PartialTree.Arc> tree = new ArrayList<PartialTree.Arc>(Math.max(size[c]-1, 0));
+					Arrays.sort(keys, start[c], start[c+1]);
+					UnionFind uf = new UnionFind(size[c]);
+					for (int i=start[c]; i < start[c+1] && uf.sets() > 1; i++) {
+						int e = EdgeList.keyEdge(keys[i]);
+						if (uf.union(local[edges.from[e]], local[edges.to[e]])) {
+							tree.add(new PartialTree.Arc(graph.vertices[edges.from[e]], 
+									graph.vertices[edges.to[e]], edges.weight[e]));
+						}
+					}
+					forest.set(c, tree);
+				}
+			}
+		});
+		return forest;
+	}
+}
@@ -0,0 +1,163 @@
+package apps;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import structures.*;
+
+/**
+ * A concurrent version of the MST.execute loop. Instead of taking the partial
+ * trees strictly in circular-queue order, every live tree is visited in parallel
+ * rounds on a work-stealing fork/join pool. A visit claims the tree and the tree
+ * at the other end of its cheapest arc with lock-free ownership flags, and merges
+ * the two if it got both; if either is already claimed it simply backs off until
+ * the next round. When a round makes too little progress, the remaining trees are
+ * handed to the sequential MST.execute loop.
+ * 
+ * Every merge joins a tree with its cheapest outgoing arc, which is always safe
+ * (the cut property), so any interleaving of merges gives a valid MST, or a
+ * minimum spanning forest if the graph is not connected.
+ */
+public class ConcurrentMST {
+
+	/**
+	 * Fall back to the sequential loop once a round merges fewer than one in
+	 * this many live trees.
+	 */
+	static final int MIN_PROGRESS = 16;
+
+	/**
+	 * Executes the algorithm on the common fork/join pool, starting with the 
+	 * initial partial tree list. The list is emptied.
+	 * 
+	 * @param ptlist Initial partial tree list
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(PartialTreeList ptlist) {
+		return execute(ptlist, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Executes the algorithm, starting with the initial partial tree list. The list 
+	 * is emptied.
+	 * 
+	 * @param ptlist Initial partial tree list
+	 * @param pool Pool on which the rounds are run
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(PartialTreeList ptlist, ForkJoinPool pool) {
+		final int count = ptlist.size();
+		final PartialTree[] trees = new PartialTree[count];
+		int maxId = -1;
+		for (int i=0; i < count; i++) {
+			trees[i] = ptlist.remove();
+			maxId = Math.max(maxId, trees[i].getRoot().id);
+		}
+		// a merged tree keeps the root of the tree that claimed it, so roots map to slots for good
+		final int[] slotOf = new int[maxId+1];
+		for (int i=0; i < count; i++) {
+			slotOf[trees[i].getRoot().id] = i;
+		}
+		final boolean[] alive = new boolean[count];
+		final boolean[] done = new boolean[count];
+		final AtomicIntegerArray owner = new AtomicIntegerArray(count);
+		final ConcurrentLinkedQueue<PartialTree.Arc> result = new ConcurrentLinkedQueue<PartialTree.Arc>();
+		final AtomicInteger merged = new AtomicInteger();
+
+		int[] live = new int[count];
+		int liveCount = 0;
+		for (int i=0; i < count; i++) {
+			alive[i] = true;
+			live[liveCount++] = i;
+		}
+
+		while (liveCount > 1) {
+			final int[] round = live;
+			merged.set(0);
+			ParallelFor.run(pool, 0, liveCount, 64, new ParallelFor.Body() {
+				public void run(int lo, int hi) {
+					int n = 0;
+					for (int k=lo; k < hi; k++) {
+						if (tryMerge(round[k], trees, slotOf, alive, done, owner, result)) {
+							n++;
+						}
+					}
+					merged.addAndGet(n);
+				}
+			});
+
+			int before = liveCount;
+			liveCount = 0;
+			for (int k=0; k < before; k++) {
+				if (alive[round[k]] && !done[round[k]]) {
+					live[liveCount++] = round[k];
+				}
+			}
+			if (liveCount > 1 && merged.get() * MIN_PROGRESS < before) {
+				// too many conflicts: finish in sequential order
+				PartialTreeList rest = new PartialTreeList();
+				for (int k=0; k < liveCount; k++) {
+					rest.append(trees[live[k]]);
+				}
+				result.addAll(MST.execute(rest));
+				break;
+			}
+		}
+		return new ArrayList<PartialTree.Arc>(result);
+	}
+
+	/**
+	 * Claims a tree and the tree at the other end of its cheapest arc, and merges
+	 * them if both could be claimed.
+	 * 
+	 * @return True if a merge was done
+	 */
+	private static boolean tryMerge(int a, PartialTree[] trees, int[] slotOf, boolean[] alive, 
+			boolean[] done, AtomicIntegerArray owner, ConcurrentLinkedQueue<PartialTree.Arc> result) {
+		if (!owner.compareAndSet(a, 0, 1)) {
+			return false;
+		}
+		try {
+			if (!alive[a] || done[a]) {
+				return false;
+			}
+			PartialTree ta = trees[a];
+			ArcTable table = ta.getArcTable();
+			LongMinHeap arcs = ta.getArcs();
+			// arcs back into this tree can only have been made so by this tree's owners
+			while (!arcs.isEmpty() && table.v2(arcs.getMin()).getRoot() == ta.getRoot()) {
+				arcs.deleteMin();
+			}
+			if (arcs.isEmpty()) {
+				// spans a whole component
+				done[a] = true;
+				return false;
+			}
+			long arc = arcs.getMin();
+			Vertex v2 = table.v2(arc);
+			// unclaimed read, checked again once the other tree is ours
+			int b = slotOf[v2.getRoot().id];
+			if (b == a || !owner.compareAndSet(b, 0, 1)) {
+				return false;
+			}
+			try {
+				PartialTree tb = trees[b];
+				if (!alive[b] || v2.getRoot() != tb.getRoot()) {
+					return false;
+				}
+				arcs.deleteMin();
+				ta.merge(tb);
+				alive[b] = false;
+				result.add(table.toArc(arc));
+				return true;
+			} finally {
+				owner.set(b, 0);
+			}
+		} finally {
+			owner.set(a, 0);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package apps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import structures.*;
+
+/**
+ * Maintains the minimum spanning forest of a graph while edges are inserted and
+ * edge weights change, without recomputing it from scratch. The forest is kept
+ * in a link-cut tree in which every edge is a node of its own (carrying the edge
+ * weight) between its two endpoint vertices, so the heaviest edge on the tree
+ * path between any two vertices can be found in amortized O(log V).
+ * 
+ * Inserting an edge, or lowering an edge's weight, costs amortized O(log V): if
+ * the edge closes a cycle, it replaces the heaviest edge on that cycle when it
+ * is lighter. Raising the weight of a tree edge has no such shortcut and scans
+ * the non-tree edges for a replacement, O(E log V).
+ * 
+ * The graph passed in is only read, never modified.
+ */
+public class DynamicMST {
+
+	/**
+	 * Vertices of the graph.
+	 */
+	private final Vertex[] vertices;
+
+	/**
+	 * All edges ever inserted, indexed by edge id.
+	 */
+	private final EdgeList edges;
+
+	/**
+	 * Forest over vertex nodes 0 to V-1 and edge nodes V+id.
+	 */
+	private final LinkCutTree forest;
+
+	/**
+	 * Tells if each edge is in the spanning forest.
+	 */
+	private boolean[] inTree;
+
+	/**
+	 * Number of edges in the forest, and their total weight.
+	 */
+	private int treeEdges;
+	private long totalWeight;
+
+	/**
+	 * Builds the minimum spanning forest of a graph, to be maintained from then on.
+	 * Edge ids are assigned in the order of EdgeList.of(graph).
+	 * 
+	 * @param graph Graph for which the MST is to be found
+	 */
+	public DynamicMST(Graph graph) {
+		vertices = graph.vertices;
+		int n = vertices.length;
+		edges = EdgeList.of(graph);
+		forest = new LinkCutTree(n + edges.count);
+		inTree = new boolean[Math.max(edges.count, 16)];
+		for (int v=0; v < n; v++) {
+			forest.addNode(Integer.MIN_VALUE);
+		}
+		for (int e=0; e < edges.count; e++) {
+			forest.addNode(edges.weight[e]);
+		}
+
+		// initial forest, by Kruskal
+		UnionFind uf = new UnionFind(n);
+		for (long key: edges.sortedKeys(true)) {
+			int e = EdgeList.keyEdge(key);
+			if (uf.union(edges.from[e], edges.to[e])) {
+				addToTree(e);
+			}
+		}
+	}
+
+	/**
+	 * Inserts a new edge, updating the MST.
+	 * 
+	 * @param v1 Vertex at one end of the edge.
+	 * @param v2 Vertex at the other end of the edge.
+	 * @param weight Weight of the edge.
+	 * @return Id of the new edge
+	 */
+	public int insertEdge(Vertex v1, Vertex v2, int weight) {
+		int e = edges.count;
+		edges.add(v1.id, v2.id, weight);
+		if (forest.addNode(weight) != vertices.length + e) {
+			throw new IllegalStateException("Edge and forest node ids out of step");
+		}
+		if (e == inTree.length) {
+			inTree = Arrays.copyOf(inTree, e*2);
+		}
+		offer(e);
+		return e;
+	}
+
+	/**
+	 * Changes the weight of an edge, updating the MST.
+	 * 
+	 * @param e Id of the edge
+	 * @param weight New weight of the edge
+	 * @throws NoSuchElementException If there is no edge with this id
+	 */
+	public void changeWeight(int e, int weight) 
+	throws NoSuchElementException {
+		if (e < 0 || e >= edges.count) {
+			throw new NoSuchElementException("No edge " + e);
+		}
+		int old = edges.weight[e];
+		edges.weight[e] = weight;
+		forest.setValue(vertices.length + e, weight);
+		if (inTree[e]) {
+			totalWeight += (long)weight - old;
+			if (weight > old) {
+				// a lighter edge may now reconnect the two halves
+				removeFromTree(e);
+				int best = -1;
+				for (int f=0; f < edges.count; f++) {
+					if (!inTree[f] && edges.from[f] != edges.to[f]
+							&& (best < 0 || edges.weight[f] < edges.weight[best]) 
+							&& !forest.connected(edges.from[f], edges.to[f])) {
+						best = f;
+					}
+				}
+				addToTree(best);
+			}
+		} else if (weight < old) {
+			offer(e);
+		}
+	}
+
+	/**
+	 * Adds a non-tree edge to the forest if it joins two trees, or if it is lighter
+	 * than the heaviest edge on the cycle it closes (which then leaves the forest).
+	 */
+	private void offer(int e) {
+		int u = edges.from[e], v = edges.to[e];
+		if (u == v) {
+			return;
+		}
+		if (!forest.connected(u, v)) {
+			addToTree(e);
+			return;
+		}
+		int heaviest = forest.pathMax(u, v) - vertices.length;
+		if (edges.weight[heaviest] > edges.weight[e]) {
+			removeFromTree(heaviest);
+			addToTree(e);
+		}
+	}
+
+	private void addToTree(int e) {
+		int node = vertices.length + e;
+		forest.link(edges.from[e], node);
+		forest.link(node, edges.to[e]);
+		inTree[e] = true;
+		treeEdges++;
+		totalWeight += edges.weight[e];
+	}
+
+	private void removeFromTree(int e) {
+		int node = vertices.length + e;
+		forest.cut(edges.from[e], node);
+		forest.cut(node, edges.to[e]);
+		inTree[e] = false;
+		treeEdges--;
+		totalWeight -= edges.weight[e];
+	}
+
+	/**
+	 * Tells if an edge is currently in the MST.
+	 * 
+	 * @param e Id of the edge
+	 * @return True if the edge is in the MST
+	 */
+	public boolean inTree(int e) {
+		return inTree[e];
+	}
+
+	/**
+	 * Returns the total weight of the MST.
+	 * 
+	 * @return Sum of weights of the MST arcs
+	 */
+	public long totalWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * Returns the number of arcs in the MST.
+	 * 
+	 * @return Number of arcs
+	 */
+	public int size() {
+		return treeEdges;
+	}
+
+	/**
+	 * Returns the arcs currently in the MST.
+	 * 
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public ArrayList<PartialTree.Arc> arcs() {
+		ArrayList<PartialTree.Arc> mst = new ArrayList<PartialTree.Arc>(treeEdges);
+		for (int e=0; e < edges.count; e++) {
+			if (inTree[e]) {
+				mst.add(new PartialTree.Arc(vertices[edges.from[e]], vertices[edges.to[e]], edges.weight[e]));
+			}
+		}
+		return mst;
+	}
+}
@@ -0,0 +1,270 @@
+package apps;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import structures.*;
+
+/**
+ * Kruskal's MST algorithm for graphs whose edges do not fit in memory. Edges are
+ * streamed from the input file in chunks of bounded size; each chunk is sorted by
+ * weight and written to a temporary run file, runs are merged (in several passes
+ * if there are too many to open at once), and the final merge feeds the edges in
+ * weight order straight into an int[] union-find. Only the vertex names, the
+ * union-find and the result arcs are held for the whole run, which is O(V); with an
+ * ArcSink, the result arcs need not be held at all.
+ */
+public class ExternalMST {
+
+	/**
+	 * Default number of edges sorted in memory at a time (16 bytes each).
+	 */
+	public static final int DEFAULT_CHUNK = 1 << 22;
+
+	/**
+	 * Max number of runs merged at once.
+	 */
+	static final int FAN_IN = 128;
+
+	/**
+	 * Buffer size for each run file.
+	 */
+	static final int RUN_BUFFER = 1 << 16;
+
+	/**
+	 * Finds the MST of the graph described in a file, sorting at most
+	 * DEFAULT_CHUNK edges in memory at a time.
+	 * 
+	 * @param file Name of the file that has the input graph description.
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 * @throws IOException If the input cannot be read or the runs cannot be written
+	 */
+	public static ArrayList<PartialTree.Arc> execute(String file) 
+	throws IOException {
+		return execute(file, DEFAULT_CHUNK, null);
+	}
+
+	/**
+	 * Finds the MST of the graph described in a file.
+	 * 
+	 * @param file Name of the file that has the input graph description.
+	 * @param chunk Max number of edges sorted in memory at a time
+	 * @param tempDir Directory for the run files, or null for the system default
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 * @throws IOException If the input cannot be read or the runs cannot be written
+	 */
+	public static ArrayList<PartialTree.Arc> execute(String file, int chunk, File tempDir) 
+	throws IOException {
+		final ArrayList<PartialTree.Arc> mst = new ArrayList<PartialTree.Arc>();
+		execute(file, chunk, tempDir, new ArcSink() {
+			public void arc(Vertex v1, Vertex v2, int weight) {
+				mst.add(new PartialTree.Arc(v1, v2, weight));
+			}
+		});
+		return mst;
+	}
+
+	/**
+	 * Finds the MST of the graph described in a file, handing every arc to a sink
+	 * as soon as it is accepted. Arcs arrive in order of increasing weight.
+	 * 
+	 * @param file Name of the file that has the input graph description.
+	 * @param chunk Max number of edges sorted in memory at a time
+	 * @param tempDir Directory for the run files, or null for the system default
+	 * @param sink Receiver of the arcs in the MST
+	 * @return Number of arcs in the MST
+	 * @throws IOException If the input cannot be read, the runs cannot be written, or the sink fails
+	 */
+	public static int execute(String file, int chunk, final File tempDir, ArcSink sink) 
+	throws IOException {
+		GraphReader reader = GraphReader.readVertices(file);
+		Graph graph = new Graph(reader);
+		final ArrayList<File> runs = new ArrayList<File>();
+		ArrayList<File> merged = new ArrayList<File>();
+		final long[] keys = new long[Math.max(chunk, 1)];
+		final int[] from = new int[keys.length], to = new int[keys.length];
+		final int[] count = new int[1];
+
+		try {
+			// sorted runs
+			reader.forEachEdge(new GraphReader.EdgeSink() {
+				public void edge(int v1, int v2, int weight) throws IOException {
+					if (v1 == v2) {
+						return;
+					}
+					if (count[0] == keys.length) {
+						runs.add(writeRun(keys, from, to, count[0], tempDir));
+						count[0] = 0;
+					}
+					int i = count[0]++;
+					keys[i] = EdgeList.key(weight, i);
+					from[i] = v1;
+					to[i] = v2;
+				}
+			});
+			if (count[0] > 0) {
+				runs.add(writeRun(keys, from, to, count[0], tempDir));
+			}
+
+			// cut the number of runs down until they can all be merged at once;
+			// every merged run is listed as soon as it exists, so it is deleted if a merge fails
+			while (runs.size() > FAN_IN) {
+				for (int i=0; i < runs.size(); i += FAN_IN) {
+					File out = File.createTempFile("mst", ".run", tempDir);
+					merged.add(out);
+					DataOutputStream dos = new DataOutputStream(
+							new BufferedOutputStream(new FileOutputStream(out), RUN_BUFFER));
+					try {
+						Merger m = new Merger(runs.subList(i, Math.min(i + FAN_IN, runs.size())));
+						try {
+							while (m.next()) {
+								dos.writeInt(m.weight);
+								dos.writeInt(m.from);
+								dos.writeInt(m.to);
+							}
+						} finally {
+							m.close();
+						}
+					} finally {
+						dos.close();
+					}
+				}
+				for (File f: runs) {
+					f.delete();
+				}
+				runs.clear();
+				runs.addAll(merged);
+				merged.clear();
+			}
+
+			// final merge, straight into Kruskal
+			int accepted = 0;
+			UnionFind uf = new UnionFind(graph.vertices.length);
+			Merger m = new Merger(runs);
+			try {
+				while (uf.sets() > 1 && m.next()) {
+					if (uf.union(m.from, m.to)) {
+						sink.arc(graph.vertices[m.from], graph.vertices[m.to], m.weight);
+						accepted++;
+					}
+				}
+			} finally {
+				m.close();
+			}
+			return accepted;
+		} finally {
+			for (File f: runs) {
+				f.delete();
+			}
+			for (File f: merged) {
+				f.delete();
+			}
+		}
+	}
+
+	/**
+	 * Sorts a chunk of edges by weight and writes it to a new run file.
+	 */
+	private static File writeRun(long[] keys, int[] from, int[] to, int count, File tempDir) 
+	throws IOException {
+		Arrays.parallelSort(keys, 0, count);
+		File run = File.createTempFile("mst", ".run", tempDir);
+		try {
+			DataOutputStream dos = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(run), RUN_BUFFER));
+			try {
+				for (int i=0; i < count; i++) {
+					int e = EdgeList.keyEdge(keys[i]);
+					dos.writeInt(EdgeList.keyWeight(keys[i]));
+					dos.writeInt(from[e]);
+					dos.writeInt(to[e]);
+				}
+			} finally {
+				dos.close();
+			}
+		} catch (IOException e) {
+			run.delete();
+			throw e;
+		}
+		return run;
+	}
+
+	/**
+	 * K-way merge of run files, with the runs kept in an indexed heap keyed by
+	 * the weight of their next edge.
+	 */
+	private static class Merger {
+		final DataInputStream[] in;
+		final int[] headWeight, headFrom, headTo;
+		final IndexedMinHeap heap;
+		int weight, from, to;
+
+		Merger(java.util.List<File> runs) 
+		throws IOException {
+			int k = runs.size();
+			in = new DataInputStream[k];
+			headWeight = new int[k];
+			headFrom = new int[k];
+			headTo = new int[k];
+			heap = new IndexedMinHeap(Math.max(k, 1));
+			try {
+				for (int r=0; r < k; r++) {
+					in[r] = new DataInputStream(
+							new BufferedInputStream(new FileInputStream(runs.get(r)), RUN_BUFFER));
+					advance(r);
+				}
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		}
+
+		private void advance(int r) 
+		throws IOException {
+			try {
+				headWeight[r] = in[r].readInt();
+				headFrom[r] = in[r].readInt();
+				headTo[r] = in[r].readInt();
+			} catch (EOFException e) {
+				return;
+			}
+			heap.insert(r, headWeight[r]);
+		}
+
+		/**
+		 * Moves to the next edge in weight order.
+		 * 
+		 * @return True if there was another edge, false when all runs are exhausted
+		 */
+		boolean next() 
+		throws IOException {
+			if (heap.isEmpty()) {
+				return false;
+			}
+			int r = heap.deleteMin();
+			weight = headWeight[r];
+			from = headFrom[r];
+			to = headTo[r];
+			advance(r);
+			return true;
+		}
+
+		void close() 
+		throws IOException {
+			for (DataInputStream dis: in) {
+				if (dis != null) {
+					dis.close();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package apps;
+
+import java.io.IOException;
+import java.util.Scanner;
+
+import structures.GraphFile;
+
+/**
+ * Converts a plain text graph description into the binary graph format, which
+ * Graph can then open by memory-mapping it instead of re-parsing the text.
+ */
+public class GraphConverter {
+
+	public static void main(String[] args) 
+	throws IOException {
+		
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter input text graph file name: ");
+		String inFile = sysin.next();
+		System.out.print("Enter output binary graph file name: ");
+		String outFile = sysin.next();
+		
+		long start = System.nanoTime();
+		GraphFile.convert(inFile, outFile);
+		GraphFile gf = GraphFile.open(outFile);
+		System.out.println("Wrote " + gf.vertexCount() + " vertices, " + gf.adjacencyCount()/2 
+				+ " edges in " + (System.nanoTime() - start)/1000000 + " ms");
+	}
+}
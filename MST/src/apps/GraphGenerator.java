@@ -0,0 +1,146 @@
+package apps;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * Writes seeded synthetic graphs in the plain text graph format. Vertices are
+ * named v0, v1, ... and edge weights are uniform in 1 to MAX_WEIGHT.
+ */
+public class GraphGenerator {
+
+	/**
+	 * Largest edge weight generated.
+	 */
+	public static final int MAX_WEIGHT = 1000;
+
+	/**
+	 * Shapes of graph that can be generated.
+	 */
+	public enum Shape {
+		/**
+		 * A random spanning tree plus uniformly random extra edges, up to the requested count.
+		 */
+		RANDOM,
+		/**
+		 * A square-ish grid, each vertex joined to its right and lower neighbors. The edge count is ignored.
+		 */
+		GRID,
+		/**
+		 * Preferential attachment: each new vertex joins about E/V existing vertices, 
+		 * picked in proportion to their degree, giving a power-law degree distribution.
+		 */
+		POWER_LAW,
+		/**
+		 * Every pair of vertices joined by an edge. The edge count is ignored.
+		 */
+		COMPLETE
+	}
+
+	/**
+	 * Generates a graph and writes it to a file. Every shape is connected.
+	 * 
+	 * @param shape Shape of the graph
+	 * @param n Number of vertices
+	 * @param m Number of edges wanted (see the shapes for how it is used)
+	 * @param seed Random seed - the same seed always gives the same graph
+	 * @param file Name of the output file
+	 * @return Number of edges written
+	 * @throws IOException If the file cannot be written
+	 */
+	public static long generate(Shape shape, int n, long m, long seed, String file) 
+	throws IOException {
+		Random rnd = new Random(seed);
+		PrintWriter pw = new PrintWriter(new BufferedWriter(new FileWriter(file), 1 << 16));
+		long edges = 0;
+		try {
+			pw.println(n);
+			for (int v=0; v < n; v++) {
+				pw.println("v" + v);
+			}
+			switch (shape) {
+			case RANDOM:
+				for (int v=1; v < n; v++, edges++) {
+					edge(pw, v, rnd.nextInt(v), rnd);
+				}
+				for (; edges < m && n > 1; edges++) {
+					edge(pw, rnd.nextInt(n), rnd.nextInt(n), rnd);
+				}
+				break;
+			case GRID:
+				int cols = (int)Math.ceil(Math.sqrt(n));
+				for (int v=0; v < n; v++) {
+					if ((v+1) % cols != 0 && v+1 < n) {
+						edge(pw, v, v+1, rnd);
+						edges++;
+					}
+					if (v + cols < n) {
+						edge(pw, v, v + cols, rnd);
+						edges++;
+					}
+				}
+				break;
+			case POWER_LAW:
+				int k = (int)Math.max(1, Math.min(m / Math.max(n, 1), Integer.MAX_VALUE));
+				// every edge adds both endpoints, so a uniform pick from this list is degree-proportional
+				int[] ends = new int[(int)Math.min(2L*k*n, Integer.MAX_VALUE-8)];
+				int size = 0;
+				for (int v=1; v < n; v++) {
+					for (int j=0; j < k && j < v; j++) {
+						int u = size == 0 ? 0 : ends[rnd.nextInt(size)];
+						edge(pw, v, u, rnd);
+						edges++;
+						if (size + 2 <= ends.length) {
+							ends[size++] = u;
+							ends[size++] = v;
+						}
+					}
+				}
+				break;
+			case COMPLETE:
+				for (int v=0; v < n; v++) {
+					for (int u=v+1; u < n; u++) {
+						edge(pw, v, u, rnd);
+						edges++;
+					}
+				}
+				break;
+			}
+		} finally {
+			pw.close();
+		}
+		return edges;
+	}
+
+	private static void edge(PrintWriter pw, int v1, int v2, Random rnd) {
+		pw.print('v');
+		pw.print(v1);
+		pw.print(" v");
+		pw.print(v2);
+		pw.print(' ');
+		pw.println(1 + rnd.nextInt(MAX_WEIGHT));
+	}
+
+	public static void main(String[] args) 
+	throws IOException {
+		
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter shape (RANDOM, GRID, POWER_LAW, COMPLETE): ");
+		Shape shape = Shape.valueOf(sysin.next().toUpperCase());
+		System.out.print("Enter number of vertices: ");
+		int n = sysin.nextInt();
+		System.out.print("Enter number of edges: ");
+		long m = sysin.nextLong();
+		System.out.print("Enter random seed: ");
+		long seed = sysin.nextLong();
+		System.out.print("Enter output file name: ");
+		String file = sysin.next();
+		
+		long edges = generate(shape, n, m, seed, file);
+		System.out.println("Wrote " + n + " vertices, " + edges + " edges");
+	}
+}
@@ -0,0 +1,68 @@
+package apps;
+
+import java.util.HashMap;
+import java.util.Scanner;
+
+import structures.NameInterner;
+
+/**
+ * Compares the heap held by a NameInterner with that of the HashMap of
+ * String -> Integer that Graph used before, for a given number of vertex names,
+ * and the time taken to intern and then look up every name.
+ */
+public class InternerBench {
+
+	public static void main(String[] args) {
+		
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter number of vertex names (e.g. 10000000): ");
+		int n = sysin.nextInt();
+		
+		long base = usedHeap();
+		long start = System.nanoTime();
+		HashMap<String,Integer> map = new HashMap<String,Integer>(n*4/3+1);
+		for (int v=0; v < n; v++) {
+			map.put("v" + v, v);
+		}
+		long built = System.nanoTime();
+		long check = 0;
+		for (int v=0; v < n; v++) {
+			check += map.get("v" + v);
+		}
+		long looked = System.nanoTime();
+		long mapBytes = usedHeap() - base;
+		report("HashMap<String,Integer>", mapBytes, n, built - start, looked - built, check);
+		map = null;
+		
+		base = usedHeap();
+		start = System.nanoTime();
+		NameInterner names = new NameInterner(n);
+		for (int v=0; v < n; v++) {
+			names.intern("v" + v);
+		}
+		built = System.nanoTime();
+		check = 0;
+		for (int v=0; v < n; v++) {
+			check += names.find("v" + v);
+		}
+		looked = System.nanoTime();
+		long internBytes = usedHeap() - base;
+		report("NameInterner", internBytes, n, built - start, looked - built, check);
+		System.out.println("NameInterner estimated footprint: " + names.footprint()/(1024*1024) + " MB");
+		System.out.printf("Saving: %d MB (%.1f bytes per name)%n", 
+				(mapBytes - internBytes)/(1024*1024), (mapBytes - internBytes)/(double)n);
+	}
+	
+	private static void report(String what, long bytes, int n, long buildNanos, long findNanos, long check) {
+		System.out.printf("%-24s %6d MB  %6.1f bytes/name  build %5d ms  lookup %5d ms  (check %d)%n", 
+				what, bytes/(1024*1024), bytes/(double)n, buildNanos/1000000, findNanos/1000000, check);
+	}
+	
+	private static long usedHeap() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i=0; i < 3; i++) {
+			System.gc();
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+}
@@ -0,0 +1,46 @@
+package apps;
+
+import java.util.ArrayList;
+
+import structures.*;
+
+/**
+ * Kruskal's MST algorithm: all edges are extracted from the graph once, sorted
+ * by weight (in parallel), and swept in order, keeping every edge that joins
+ * two different components of a union-find structure.
+ */
+public class Kruskal {
+
+	/**
+	 * Finds the MST of a graph.
+	 * 
+	 * @param graph Graph for which the MST is to be found
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(Graph graph) {
+		return execute(graph, true);
+	}
+
+	/**
+	 * Finds the MST of a graph.
+	 * 
+	 * @param graph Graph for which the MST is to be found
+	 * @param parallel True to sort the edges on all cores
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(Graph graph, boolean parallel) {
+		int n = graph.vertices.length;
+		ArrayList<PartialTree.Arc> mst = new ArrayList<PartialTree.Arc>(Math.max(n-1, 0));
+		EdgeList edges = EdgeList.of(graph);
+		long[] keys = edges.sortedKeys(parallel);
+		UnionFind uf = new UnionFind(n);
+		for (int i=0; i < keys.length && uf.sets() > 1; i++) {
+			int e = EdgeList.keyEdge(keys[i]);
+			if (uf.union(edges.from[e], edges.to[e])) {
+				mst.add(new PartialTree.Arc(graph.vertices[edges.from[e]], 
+						graph.vertices[edges.to[e]], edges.weight[e]));
+			}
+		}
+		return mst;
+	}
+}
@@ -1,6 +1,7 @@
 package apps;
 
 import structures.*;
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class MST {
@@ -13,12 +14,12 @@ public class MST {
 	 */
 	public static PartialTreeList initialize(Graph graph) {
 		PartialTreeList PTL1 = new PartialTreeList();
+		ArcTable table = new ArcTable(graph.vertices, graph.vertices.length);
     	for (int i = 0; i < graph.vertices.length; i++) {
-    		PartialTree PT = new PartialTree(graph.vertices[i]);
+    		PartialTree PT = new PartialTree(graph.vertices[i], table);
     		
 			for (Vertex.Neighbor verts = graph.vertices[i].neighbors; verts != null; verts = verts.next) {
-				PartialTree.Arc PTLArc = new PartialTree.Arc(PT.getRoot(), verts.vertex, verts.weight);
-				PT.getArcs().insert(PTLArc);
+				PT.getArcs().insert(table.add(PT.getRoot(), verts.vertex, verts.weight));
 			}
 			PTL1.append(PT);
 		}
@@ -26,32 +27,88 @@ public class MST {
 	}
 
 	/**
-	 * Executes the algorithm on a graph, starting with the initial partial tree list
+	 * Executes the algorithm on a graph, starting with the initial partial tree list.
+	 * If the graph is not connected, the result is a minimum spanning forest, with
+	 * one tree per connected component.
 	 * 
 	 * @param ptlist Initial partial tree list
 	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
 	 */
 	public static ArrayList<PartialTree.Arc> execute(PartialTreeList ptlist) {
-		ArrayList<PartialTree.Arc> ptArcMST = new ArrayList<PartialTree.Arc>();
+		return execute(ptlist, (MSTListener)null);
+	}
+
+	/**
+	 * Executes the algorithm on a graph, starting with the initial partial tree list,
+	 * reporting every step to a listener. If the graph is not connected, the result
+	 * is a minimum spanning forest, with one tree per connected component.
+	 * 
+	 * @param ptlist Initial partial tree list
+	 * @param listener Listener for steps of the algorithm, or null for none
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(PartialTreeList ptlist, MSTListener listener) {
+		final ArrayList<PartialTree.Arc> ptArcMST = new ArrayList<PartialTree.Arc>();
+		try {
+			run(ptlist, listener, new ArcSink() {
+				public void arc(Vertex v1, Vertex v2, int weight) {
+					ptArcMST.add(new PartialTree.Arc(v1, v2, weight));
+				}
+			});
+		} catch (IOException e) {
+			// the list sink never throws
+			throw new IllegalStateException(e);
+		}
+		if (listener != null) {
+			listener.finished(ptArcMST);
+		}
+		return ptArcMST;
+	}
+
+	/**
+	 * Executes the algorithm on a graph, starting with the initial partial tree list,
+	 * handing every arc to a sink as soon as it is accepted instead of collecting
+	 * the MST in a list.
+	 * 
+	 * @param ptlist Initial partial tree list
+	 * @param sink Receiver of the arcs in the MST, in the order they are found
+	 * @return Number of arcs in the MST
+	 * @throws IOException If the sink fails
+	 */
+	public static int execute(PartialTreeList ptlist, ArcSink sink) 
+	throws IOException {
+		return run(ptlist, null, sink);
+	}
+
+	private static int run(PartialTreeList ptlist, MSTListener listener, ArcSink sink) 
+	throws IOException {
+		int count = 0;
 		while (ptlist.size() > 1) {
 			PartialTree ptRemove = ptlist.remove();
-			PartialTree.Arc ptArcTwo = ptRemove.getArcs().deleteMin();
-			while (ptRemove.getRoot() == ptArcTwo.v2) {
-				ptArcTwo = ptRemove.getArcs().deleteMin();
+			ArcTable table = ptRemove.getArcTable();
+			LongMinHeap arcs = ptRemove.getArcs();
+			// drop arcs that lead back into this tree
+			while (!arcs.isEmpty() && table.v2(arcs.getMin()).getRoot() == ptRemove.getRoot()) {
+				arcs.deleteMin();
 			}
-			
-			PartialTree ptContaining = ptlist.removeTreeContaining(ptArcTwo.v2);
-			
-			if (ptContaining != null) {
-				while (ptContaining.getRoot() == ptArcTwo.v1) {
-					ptArcTwo = ptRemove.getArcs().deleteMin();
+			if (arcs.isEmpty()) {
+				// no way out: this tree spans a whole component, and is done
+				if (listener != null) {
+					listener.treeProcessed(ptRemove);
 				}
-				ptRemove.merge(ptContaining);
-				ptArcMST.add(ptArcTwo);
+				continue;
+			}
+			long ptArcTwo = arcs.deleteMin();
+			
+			PartialTree ptContaining = ptlist.removeTreeContaining(table.v2(ptArcTwo));
+			ptRemove.merge(ptContaining);
+			sink.arc(table.v1(ptArcTwo), table.v2(ptArcTwo), ArcTable.weight(ptArcTwo));
+			count++;
+			if (listener != null) {
+				listener.treeProcessed(ptRemove);
 			}
-			System.out.println(ptRemove);
 			ptlist.append(ptRemove);
-		}System.out.println(ptArcMST);
-		return ptArcMST;
+		}
+		return count;
 	}
 }
@@ -0,0 +1,309 @@
+package apps;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.Scanner;
+
+import structures.*;
+
+/**
+ * Times every MST engine, and the heap and partial tree list operations they are
+ * built on, on a generated graph. Every case is warmed up before it is measured,
+ * and reports the best and mean time per run and the bytes allocated per run
+ * (summed over all threads, where the JVM can measure it).
+ */
+public class MSTBench {
+
+	/**
+	 * Number of untimed runs before measuring.
+	 */
+	static final int WARMUP = 3;
+
+	/**
+	 * A benchmarked operation. setup() runs before every run, outside the timing.
+	 */
+	static abstract class Case {
+		final String name;
+
+		/**
+		 * Number of edges handled by every run, for a throughput figure, or 0 for none.
+		 */
+		final long edges;
+
+		Case(String name) {
+			this(name, 0);
+		}
+
+		Case(String name, long edges) {
+			this.name = name;
+			this.edges = edges;
+		}
+
+		void setup() throws IOException {
+		}
+
+		abstract Object run() throws IOException;
+	}
+
+	public static void main(String[] args) 
+	throws IOException {
+		
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter shape (RANDOM, GRID, POWER_LAW, COMPLETE): ");
+		GraphGenerator.Shape shape = GraphGenerator.Shape.valueOf(sysin.next().toUpperCase());
+		System.out.print("Enter number of vertices: ");
+		int n = sysin.nextInt();
+		System.out.print("Enter number of edges: ");
+		long m = sysin.nextLong();
+		System.out.print("Enter random seed: ");
+		long seed = sysin.nextLong();
+		System.out.print("Enter number of measured runs: ");
+		int runs = sysin.nextInt();
+		
+		File file = File.createTempFile("mst", ".txt");
+		file.deleteOnExit();
+		long edges = GraphGenerator.generate(shape, n, m, seed, file.getPath());
+		System.out.println(shape + ": " + n + " vertices, " + edges + " edges");
+		GraphReader reader = GraphReader.read(file.getPath(), true);
+		System.out.printf("Loaded %d edges in %.2f ms at %.0f edges/second%n", 
+				reader.edgeCount(), reader.elapsedNanos()/1e6, reader.edgesPerSecond());
+		
+		for (Case c: cases(file.getPath(), new Graph(reader), seed)) {
+			measure(c, runs);
+		}
+	}
+
+	/**
+	 * Builds the list of benchmarked operations on a graph.
+	 */
+	static ArrayList<Case> cases(final String file, final Graph graph, final long seed) {
+		ArrayList<Case> cases = new ArrayList<Case>();
+		final int n = graph.vertices.length;
+		final PartialTreeList[] ptlist = new PartialTreeList[1];
+
+		long edges = 0;
+		for (Vertex v: graph.vertices) {
+			for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+				edges++;
+			}
+		}
+		cases.add(new Case("Graph load (text)", edges/2) {
+			Object run() throws IOException {
+				return new Graph(file, true);
+			}
+		});
+		cases.add(new Case("MST.initialize") {
+			void setup() {
+				resetParents(graph);
+			}
+			Object run() {
+				return MST.initialize(graph);
+			}
+		});
+		cases.add(new Case("MST.execute") {
+			void setup() {
+				resetParents(graph);
+				ptlist[0] = MST.initialize(graph);
+			}
+			Object run() {
+				return MST.execute(ptlist[0]);
+			}
+		});
+		cases.add(new Case("ConcurrentMST") {
+			void setup() {
+				resetParents(graph);
+				ptlist[0] = MST.initialize(graph);
+			}
+			Object run() {
+				return ConcurrentMST.execute(ptlist[0]);
+			}
+		});
+		cases.add(new Case("Kruskal") {
+			Object run() {
+				return Kruskal.execute(graph);
+			}
+		});
+		cases.add(new Case("Boruvka") {
+			Object run() {
+				return Boruvka.execute(graph);
+			}
+		});
+		cases.add(new Case("Prim") {
+			Object run() {
+				return Prim.execute(graph);
+			}
+		});
+		cases.add(new Case("ExternalMST") {
+			Object run() throws IOException {
+				return ExternalMST.execute(file, 1 << 16, null);
+			}
+		});
+
+		// heap operations, on one arc per adjacency entry like MST.initialize
+		final ArrayList<PartialTree.Arc> arcs = new ArrayList<PartialTree.Arc>();
+		for (Vertex v: graph.vertices) {
+			for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+				arcs.add(new PartialTree.Arc(v, nbr.vertex, nbr.weight));
+			}
+		}
+		final ArrayList<MinHeap<PartialTree.Arc>> heaps = new ArrayList<MinHeap<PartialTree.Arc>>();
+		cases.add(new Case("MinHeap.insert+deleteMin") {
+			Object run() {
+				MinHeap<PartialTree.Arc> heap = new MinHeap<PartialTree.Arc>();
+				for (PartialTree.Arc a: arcs) {
+					heap.insert(a);
+				}
+				while (!heap.isEmpty()) {
+					heap.deleteMin();
+				}
+				return heap;
+			}
+		});
+		cases.add(new Case("MinHeap.merge") {
+			void setup() {
+				// one small heap per vertex, as the partial trees start out
+				heaps.clear();
+				for (Vertex v: graph.vertices) {
+					MinHeap<PartialTree.Arc> heap = new MinHeap<PartialTree.Arc>();
+					for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+						heap.insert(new PartialTree.Arc(v, nbr.vertex, nbr.weight));
+					}
+					heaps.add(heap);
+				}
+			}
+			Object run() {
+				MinHeap<PartialTree.Arc> all = new MinHeap<PartialTree.Arc>();
+				for (MinHeap<PartialTree.Arc> heap: heaps) {
+					all.merge(heap);
+				}
+				return all;
+			}
+		});
+		final ArcTable table = new ArcTable(graph.vertices, arcs.size());
+		final long[] packed = new long[arcs.size()];
+		for (int i=0; i < packed.length; i++) {
+			PartialTree.Arc a = arcs.get(i);
+			packed[i] = table.add(a.v1, a.v2, a.weight);
+		}
+		cases.add(new Case("LongMinHeap.insert+deleteMin") {
+			Object run() {
+				LongMinHeap heap = new LongMinHeap();
+				for (long a: packed) {
+					heap.insert(a);
+				}
+				while (!heap.isEmpty()) {
+					heap.deleteMin();
+				}
+				return heap;
+			}
+		});
+		final ArrayList<LongMinHeap> longHeaps = new ArrayList<LongMinHeap>();
+		cases.add(new Case("LongMinHeap.merge") {
+			void setup() {
+				longHeaps.clear();
+				int i = 0;
+				for (Vertex v: graph.vertices) {
+					LongMinHeap heap = new LongMinHeap();
+					for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+						heap.insert(packed[i++]);
+					}
+					longHeaps.add(heap);
+				}
+			}
+			Object run() {
+				LongMinHeap all = new LongMinHeap();
+				for (LongMinHeap heap: longHeaps) {
+					all.merge(heap);
+				}
+				return all;
+			}
+		});
+		cases.add(new Case("IndexedMinHeap.insertOrDecrease+deleteMin") {
+			Object run() {
+				IndexedMinHeap heap = new IndexedMinHeap(n);
+				for (PartialTree.Arc a: arcs) {
+					heap.insertOrDecrease(a.v2.id, a.weight);
+				}
+				while (!heap.isEmpty()) {
+					heap.deleteMin();
+				}
+				return heap;
+			}
+		});
+		cases.add(new Case("PartialTreeList.removeTreeContaining") {
+			final Random rnd = new Random(seed);
+			void setup() {
+				resetParents(graph);
+				ptlist[0] = MST.initialize(graph);
+			}
+			Object run() {
+				int count = 0;
+				while (ptlist[0].size() > 0) {
+					ptlist[0].removeTreeContaining(graph.vertices[rnd.nextInt(n)]);
+					count++;
+				}
+				return count;
+			}
+		});
+		return cases;
+	}
+
+	/**
+	 * Makes every vertex its own partial tree again, undoing a run of MST.execute.
+	 */
+	static void resetParents(Graph graph) {
+		for (Vertex v: graph.vertices) {
+			v.parent = v;
+		}
+	}
+
+	/**
+	 * Runs a case, and prints its timing and allocation.
+	 */
+	static void measure(Case c, int runs) 
+	throws IOException {
+		for (int i=0; i < WARMUP; i++) {
+			c.setup();
+			c.run();
+		}
+		long best = Long.MAX_VALUE, total = 0, allocated = 0;
+		for (int i=0; i < runs; i++) {
+			c.setup();
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			c.run();
+			long time = System.nanoTime() - start;
+			allocated += allocatedBytes() - bytes;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("%-45s best %10.2f ms  mean %10.2f ms  %12.1f KB/op", 
+				c.name, best/1e6, total/1e6/runs, allocated/1024.0/runs);
+		if (c.edges > 0) {
+			System.out.printf("  %12.0f edges/s", c.edges*1e9/best);
+		}
+		System.out.println();
+	}
+
+	/**
+	 * Returns the bytes allocated so far by all live threads, or 0 if the JVM 
+	 * cannot tell.
+	 */
+	static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+			return 0;
+		}
+		com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean)bean;
+		long sum = 0;
+		for (long b: hotspot.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+			if (b > 0) {
+				sum += b;
+			}
+		}
+		return sum;
+	}
+}
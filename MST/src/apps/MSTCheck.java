@@ -0,0 +1,678 @@
+package apps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+import structures.*;
+
+/**
+ * Non-interactive checks of the MST engines and their support code. Every engine
+ * is compared with the original partial tree algorithm (MST.initialize and
+ * MST.execute), and graphs loaded by the bulk loader and from binary graph files
+ * are compared with the original Scanner parse, on random graphs, empty graphs
+ * and graphs with non-ASCII vertex names. Every check prints one line, and the
+ * exit status is non-zero if any check fails.
+ */
+public class MSTCheck {
+
+	/**
+	 * Number of checks that failed.
+	 */
+	static int failures;
+
+	/**
+	 * Directory for the files written by the checks.
+	 */
+	static File dir;
+
+	public static void main(String[] args)
+	throws IOException {
+		dir = Files.createTempDirectory("mstcheck").toFile();
+		try {
+			checkArcWriter();
+			for (GraphGenerator.Shape shape: GraphGenerator.Shape.values()) {
+				for (long seed=1; seed <= 3; seed++) {
+					File file = generate(shape, shape == GraphGenerator.Shape.COMPLETE ? 60 : 500, 3000, seed);
+					checkLoad(shape + " seed " + seed, file);
+					checkEngines(shape + " seed " + seed, file);
+				}
+			}
+			checkLoad("large RANDOM graph", generate(GraphGenerator.Shape.RANDOM, 20000, 150000, 4));
+			File disconnected = graphFile(new String[] {"a", "b", "c", "d", "e", "f"},
+					new int[][] {{0, 1, 5}, {1, 2, 3}, {0, 2, 4}, {3, 4, 7}});
+			checkLoad("disconnected graph", disconnected);
+			checkEngines("disconnected graph", disconnected);
+			File single = graphFile(new String[] {"a"}, new int[0][]);
+			checkLoad("single vertex", single);
+			checkEngines("single vertex", single);
+			File empty = graphFile(new String[0], new int[0][]);
+			checkLoad("empty graph", empty);
+			checkEngines("empty graph", empty);
+			checkNonAscii();
+			checkInterner();
+			checkArcEquality();
+			checkDuplicateNames();
+			checkListener();
+			checkDynamic();
+			checkShortestPaths();
+			checkExternal();
+		} finally {
+			for (File f: dir.listFiles()) {
+				f.delete();
+			}
+			dir.delete();
+		}
+		System.out.println(failures == 0 ? "All checks passed" : failures + " checks FAILED");
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Records the outcome of one check.
+	 */
+	static void check(String name, boolean ok, String detail) {
+		if (ok) {
+			System.out.println("ok      " + name);
+		} else {
+			System.out.println("FAILED  " + name + ": " + detail);
+			failures++;
+		}
+	}
+
+	/**
+	 * Checks that a value matches the expected one.
+	 */
+	static void check(String name, long actual, long expected) {
+		check(name, actual == expected, actual + " instead of " + expected);
+	}
+
+	/**
+	 * Returns a new file in the check directory.
+	 */
+	static File temp(String suffix)
+	throws IOException {
+		return File.createTempFile("check", suffix, dir);
+	}
+
+	/**
+	 * Writes a graph description with the given vertex names and edges, each edge
+	 * an array of two vertex numbers and a weight.
+	 */
+	static File graphFile(String[] names, int[][] edges)
+	throws IOException {
+		File file = temp(".txt");
+		PrintWriter pw = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8));
+		try {
+			pw.println(names.length);
+			for (String name: names) {
+				pw.println(name);
+			}
+			for (int[] e: edges) {
+				pw.println(names[e[0]] + " " + names[e[1]] + " " + e[2]);
+			}
+		} finally {
+			pw.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Writes a generated graph to a new file in the check directory.
+	 */
+	static File generate(GraphGenerator.Shape shape, int n, long m, long seed)
+	throws IOException {
+		File file = temp(".txt");
+		GraphGenerator.generate(shape, n, m, seed, file.getPath());
+		return file;
+	}
+
+	/**
+	 * Returns the adjacency lists of a graph, one line per neighbor, vertex by
+	 * vertex.
+	 */
+	static String adjacency(Graph graph) {
+		StringBuilder sb = new StringBuilder();
+		for (Vertex v: graph.vertices) {
+			sb.append(v.name).append(':');
+			for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+				sb.append(' ').append(nbr.vertex.name).append(' ').append(nbr.weight);
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Parses a graph description with a Scanner, as the original Graph constructor
+	 * did, and returns its adjacency lists in the form given by adjacency(Graph).
+	 */
+	static String scannerAdjacency(File file)
+	throws IOException {
+		Scanner sc = new Scanner(file, "UTF-8");
+		try {
+			String[] names = new String[sc.nextInt()];
+			HashMap<String,Integer> vertmap = new HashMap<String,Integer>();
+			ArrayList<ArrayList<String>> lists = new ArrayList<ArrayList<String>>();
+			for (int v=0; v < names.length; v++) {
+				names[v] = sc.next();
+				vertmap.put(names[v], v);
+				lists.add(new ArrayList<String>());
+			}
+			while (sc.hasNext()) {
+				String n1 = sc.next(), n2 = sc.next();
+				int wt = sc.nextInt();
+				lists.get(vertmap.get(n1)).add(" " + n2 + " " + wt);
+				lists.get(vertmap.get(n2)).add(" " + n1 + " " + wt);
+			}
+			// the Graph constructor adds each neighbor at the front of its list
+			StringBuilder sb = new StringBuilder();
+			for (int v=0; v < names.length; v++) {
+				sb.append(names[v]).append(':');
+				for (int i=lists.get(v).size()-1; i >= 0; i--) {
+					sb.append(lists.get(v).get(i));
+				}
+				sb.append('\n');
+			}
+			return sb.toString();
+		} finally {
+			sc.close();
+		}
+	}
+
+	/**
+	 * Returns the total weight of a list of arcs.
+	 */
+	static long weight(ArrayList<PartialTree.Arc> arcs) {
+		long sum = 0;
+		for (PartialTree.Arc a: arcs) {
+			sum += a.weight;
+		}
+		return sum;
+	}
+
+	/**
+	 * Checks that every arc is an edge of the graph, with its weight, and that
+	 * no arc closes a cycle.
+	 *
+	 * @return Description of the first bad arc, or null if there is none
+	 */
+	static String forestError(Graph graph, ArrayList<PartialTree.Arc> arcs) {
+		UnionFind uf = new UnionFind(graph.vertices.length);
+		for (PartialTree.Arc a: arcs) {
+			Vertex.Neighbor nbr = graph.vertices[a.v1.id].neighbors;
+			while (nbr != null && (nbr.vertex.id != a.v2.id || nbr.weight != a.weight)) {
+				nbr = nbr.next;
+			}
+			if (nbr == null) {
+				return "gave " + a + ", which is not an edge";
+			}
+			if (!uf.union(a.v1.id, a.v2.id)) {
+				return "gave " + a + ", which closes a cycle";
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Makes every vertex its own partial tree again, undoing a run of an engine.
+	 */
+	static Graph reset(Graph graph) {
+		for (Vertex v: graph.vertices) {
+			v.parent = v;
+		}
+		return graph;
+	}
+
+	/**
+	 * Runs every engine on a graph file, checks each one against MST.execute, and
+	 * checks that each result is made of edges of the graph and has no cycle.
+	 */
+	static void checkEngines(String label, File file)
+	throws IOException {
+		Graph graph = new Graph(file.getPath());
+		ArrayList<PartialTree.Arc> reference = MST.execute(MST.initialize(reset(graph)));
+		long w = weight(reference);
+		int size = reference.size();
+
+		ArrayList<ArrayList<PartialTree.Arc>> results = new ArrayList<ArrayList<PartialTree.Arc>>();
+		String[] names = {"Kruskal", "Kruskal (parallel)", "Boruvka", "Prim", "DynamicMST", "ExternalMST",
+				"Components.spanningForest", "ConcurrentMST"};
+		results.add(Kruskal.execute(reset(graph)));
+		results.add(Kruskal.execute(reset(graph), true));
+		results.add(Boruvka.execute(reset(graph)));
+		results.add(Prim.execute(reset(graph)));
+		results.add(new DynamicMST(reset(graph)).arcs());
+		results.add(ExternalMST.execute(file.getPath(), 64, dir));
+		ArrayList<ArrayList<PartialTree.Arc>> trees = Components.spanningForest(reset(graph));
+		ArrayList<PartialTree.Arc> forest = new ArrayList<PartialTree.Arc>();
+		for (ArrayList<PartialTree.Arc> tree: trees) {
+			forest.addAll(tree);
+		}
+		results.add(forest);
+		results.add(ConcurrentMST.execute(MST.initialize(reset(graph))));
+
+		StringBuilder detail = new StringBuilder();
+		String error = forestError(graph, reference);
+		if (error != null) {
+			detail.append("MST.execute " + error + "; ");
+		}
+		for (int i=0; i < names.length; i++) {
+			ArrayList<PartialTree.Arc> r = results.get(i);
+			if (weight(r) != w || r.size() != size) {
+				detail.append(names[i] + " gave " + r.size() + " arcs of weight " + weight(r) + "; ");
+			} else if ((error = forestError(graph, r)) != null) {
+				detail.append(names[i] + " " + error + "; ");
+			}
+		}
+		Components components = Components.find(graph);
+		if (components.count != graph.vertices.length - size || trees.size() != components.count) {
+			detail.append("Components.find gave " + components.count + " components; ");
+		}
+		for (int c=0; c < trees.size(); c++) {
+			for (PartialTree.Arc a: trees.get(c)) {
+				if (components.component[a.v1.id] != c || components.component[a.v2.id] != c) {
+					detail.append("Components.spanningForest put " + a + " in tree " + c + "; ");
+				}
+			}
+		}
+		final int[] streamed = new int[1];
+		int count = MST.execute(MST.initialize(reset(graph)), new ArcSink() {
+			public void arc(Vertex v1, Vertex v2, int weight) {
+				streamed[0]++;
+			}
+		});
+		if (count != size || streamed[0] != size) {
+			detail.append("MST.execute to a sink gave " + count + " arcs; ");
+		}
+		check("engines on " + label + " (" + size + " arcs, weight " + w + ")", detail.length() == 0,
+				detail + "MST.execute gave " + size + " arcs of weight " + w);
+	}
+
+	/**
+	 * Loads a graph file on one thread, in parallel chunks and through a binary
+	 * graph file, and checks each against the Scanner parse.
+	 */
+	static void checkLoad(String label, File file)
+	throws IOException {
+		String expected = scannerAdjacency(file);
+		check("load of " + label, adjacency(new Graph(file.getPath())).equals(expected),
+				"adjacency lists differ from the Scanner parse");
+		check("parallel load of " + label, adjacency(new Graph(file.getPath(), true)).equals(expected),
+				"adjacency lists differ from the Scanner parse");
+		File bin = temp(".bin");
+		GraphFile.convert(file.getPath(), bin.getPath());
+		check("binary load of " + label, adjacency(new Graph(bin.getPath())).equals(expected),
+				"adjacency lists differ from the Scanner parse");
+	}
+
+	/**
+	 * Loads a graph with non-ASCII vertex names from text and from a binary file,
+	 * and checks the names, the name lookup and the adjacency lists.
+	 */
+	static void checkNonAscii()
+	throws IOException {
+		String[] names = {"\u00f1and\u00fa", "caf\u00e9", "\u20ac", "\u65e5\u672c", "plain", "\u00e9\u00e8\u00ea"};
+		int[][] edges = {{0, 1, 4}, {1, 2, 2}, {2, 3, 9}, {3, 4, 1}, {4, 5, 6}, {5, 0, 3}, {0, 3, 5}};
+		File file = graphFile(names, edges);
+		File bin = temp(".bin");
+		GraphFile.convert(file.getPath(), bin.getPath());
+		Graph[] graphs = {new Graph(file.getPath()), new Graph(file.getPath(), true), new Graph(bin.getPath())};
+		String detail = null;
+		for (Graph g: graphs) {
+			for (int v=0; v < names.length && detail == null; v++) {
+				if (!g.vertices[v].name.equals(names[v]) || g.vertex(names[v]) != g.vertices[v]) {
+					detail = "vertex " + v + " is \"" + g.vertices[v].name + "\"";
+				}
+			}
+		}
+		for (Graph g: graphs) {
+			if (detail == null && g.vertex("caf") != null) {
+				detail = "found a vertex for a missing name";
+			}
+		}
+		check("non-ASCII names, text and binary load", detail == null, detail);
+		checkLoad("non-ASCII names", file);
+		checkEngines("non-ASCII names", file);
+	}
+
+	/**
+	 * Interns ASCII and multi-byte names into a NameInterner that starts small and
+	 * has to grow many times, and checks the ids, the lookups by String and by
+	 * bytes, and the names given back.
+	 */
+	static void checkInterner() {
+		int n = 100000;
+		NameInterner interner = new NameInterner(1);
+		String detail = null;
+		for (int i=0; i < n && detail == null; i++) {
+			int id = interner.intern(i % 2 == 0 ? "v" + i : "\u00e9\u20ac" + i);
+			if (id != i) {
+				detail = "name " + i + " got id " + id;
+			}
+		}
+		for (int i=0; i < n && detail == null; i++) {
+			String name = i % 2 == 0 ? "v" + i : "\u00e9\u20ac" + i;
+			byte[] b = ("  " + name).getBytes(StandardCharsets.UTF_8);
+			if (interner.find(name) != i || interner.find(b, 2, b.length - 2) != i ||
+					interner.intern(name) != i || !interner.name(i).equals(name)) {
+				detail = "name " + i + " is not found as id " + i;
+			}
+		}
+		if (detail == null && (interner.find("v1") >= 0 || interner.size() != n)) {
+			detail = "found a missing name, or size " + interner.size();
+		}
+		check("NameInterner, " + n + " names", detail == null, detail);
+	}
+
+	/**
+	 * Finds the MST of a graph with distinct weights, which is unique, with several
+	 * engines and through a binary load, and checks that the arc sets are equal.
+	 * Arcs from different loads have different Vertex objects, so this relies on
+	 * Arc.equals and Arc.hashCode comparing vertex ids.
+	 */
+	static void checkArcEquality()
+	throws IOException {
+		int n = 300;
+		Random rnd = new Random(13);
+		String[] names = new String[n];
+		for (int v=0; v < n; v++) {
+			names[v] = "v" + v;
+		}
+		int[][] edges = new int[2000][];
+		for (int e=0; e < edges.length; e++) {
+			int v1 = e < n-1 ? e+1 : rnd.nextInt(n);
+			int v2 = e < n-1 ? rnd.nextInt(e+1) : rnd.nextInt(n);
+			edges[e] = new int[] {v1, v2, edges.length - e};
+		}
+		File file = graphFile(names, edges);
+		File bin = temp(".bin");
+		GraphFile.convert(file.getPath(), bin.getPath());
+		Graph graph = new Graph(file.getPath());
+		HashSet<PartialTree.Arc> expected = new HashSet<PartialTree.Arc>(MST.execute(MST.initialize(graph)));
+		boolean ok = expected.size() == n-1 &&
+				expected.equals(new HashSet<PartialTree.Arc>(Kruskal.execute(reset(graph)))) &&
+				expected.equals(new HashSet<PartialTree.Arc>(Prim.execute(reset(graph)))) &&
+				expected.equals(new HashSet<PartialTree.Arc>(Boruvka.execute(reset(graph)))) &&
+				expected.equals(new HashSet<PartialTree.Arc>(
+						MST.execute(MST.initialize(new Graph(bin.getPath())))));
+		PartialTree.Arc a = new PartialTree.Arc(graph.vertices[1], graph.vertices[2], 5);
+		PartialTree.Arc b = new PartialTree.Arc(graph.vertices[2], graph.vertices[1], 5);
+		ok &= a.equals(b) && a.hashCode() == b.hashCode() &&
+				!a.equals(new PartialTree.Arc(graph.vertices[1], graph.vertices[3], 5)) &&
+				!a.equals(new PartialTree.Arc(graph.vertices[1], graph.vertices[2], 6));
+		check("unique MST gives equal arc sets from every engine and load", ok, "arc sets differ");
+	}
+
+	/**
+	 * Checks that a text or binary graph that lists a vertex name twice is rejected.
+	 */
+	static void checkDuplicateNames()
+	throws IOException {
+		File file = graphFile(new String[] {"a", "b", "a"}, new int[][] {{0, 1, 5}});
+		for (boolean parallel: new boolean[] {false, true}) {
+			String error = null;
+			try {
+				new Graph(file.getPath(), parallel);
+			} catch (IOException e) {
+				error = e.getMessage();
+			}
+			check("duplicate vertex name rejected" + (parallel ? " (parallel load)" : ""),
+					error != null && error.startsWith("Duplicate vertex"), "got " + error);
+		}
+
+		// the converter rejects duplicates too, so write the binary file from a renamed graph
+		Graph graph = new Graph(graphFile(new String[] {"a", "b", "c"}, new int[][] {{0, 1, 5}}).getPath());
+		graph.vertices[2].name = "a";
+		File bin = temp(".bin");
+		GraphFile.write(graph, bin.getPath());
+		String error = null;
+		try {
+			new Graph(bin.getPath());
+		} catch (IOException e) {
+			error = e.getMessage();
+		}
+		check("duplicate vertex name rejected (binary load)",
+				error != null && error.startsWith("Duplicate vertex"), "got " + error);
+	}
+
+	/**
+	 * Checks that MST.execute prints nothing by default, and that a listener sees
+	 * every step and the finished MST.
+	 */
+	static void checkListener()
+	throws IOException {
+		Graph graph = new Graph(generate(GraphGenerator.Shape.RANDOM, 200, 1000, 9).getPath());
+		PrintStream out = System.out;
+		ByteArrayOutputStream printed = new ByteArrayOutputStream();
+		ArrayList<PartialTree.Arc> mst;
+		System.setOut(new PrintStream(printed));
+		try {
+			mst = MST.execute(MST.initialize(reset(graph)));
+		} finally {
+			System.setOut(out);
+		}
+		check("MST.execute prints nothing without a listener", printed.size(), 0);
+
+		final int[] steps = new int[1];
+		final ArrayList<ArrayList<PartialTree.Arc>> finished = new ArrayList<ArrayList<PartialTree.Arc>>();
+		ArrayList<PartialTree.Arc> traced = MST.execute(MST.initialize(reset(graph)), new MSTListener() {
+			public void treeProcessed(PartialTree tree) {
+				steps[0]++;
+			}
+			public void finished(ArrayList<PartialTree.Arc> arcs) {
+				finished.add(arcs);
+			}
+		});
+		check("MSTListener sees every step and the finished MST",
+				steps[0] >= mst.size() && finished.size() == 1 && finished.get(0) == traced &&
+				weight(traced) == weight(mst),
+				steps[0] + " steps, " + finished.size() + " finished calls");
+	}
+
+	/**
+	 * Inserts edges into a DynamicMST and changes edge weights up and down, and
+	 * checks the maintained weight against Kruskal on the edited edge list.
+	 */
+	static void checkDynamic()
+	throws IOException {
+		Graph graph = new Graph(generate(GraphGenerator.Shape.RANDOM, 300, 1500, 11).getPath());
+		DynamicMST dyn = new DynamicMST(graph);
+		EdgeList edges = EdgeList.of(graph);
+		Random rnd = new Random(11);
+		String detail = null;
+		for (int step=0; step < 400 && detail == null; step++) {
+			int wt = 1 + rnd.nextInt(GraphGenerator.MAX_WEIGHT);
+			if (step % 2 == 0) {
+				int v1 = rnd.nextInt(graph.vertices.length), v2 = rnd.nextInt(graph.vertices.length);
+				dyn.insertEdge(graph.vertices[v1], graph.vertices[v2], wt);
+				edges.add(v1, v2, wt);
+			} else {
+				int e = rnd.nextInt(edges.count);
+				dyn.changeWeight(e, wt);
+				edges.weight[e] = wt;
+			}
+			long expected = kruskal(graph.vertices.length, edges);
+			if (dyn.totalWeight() != expected || weight(dyn.arcs()) != expected) {
+				detail = "after step " + step + ", weight " + dyn.totalWeight() + " instead of " + expected;
+			}
+		}
+		check("DynamicMST after 200 inserts and 200 weight changes", detail == null, detail);
+	}
+
+	/**
+	 * Runs ExternalMST with enough runs to need more than one merge pass, and
+	 * checks that no run files are left behind, also when the sink fails during
+	 * the last merge, and when the input turns out to be malformed after some
+	 * runs have been written.
+	 */
+	static void checkExternal()
+	throws IOException {
+		int m = 20000;
+		File file = generate(GraphGenerator.Shape.RANDOM, 2000, m, 7);
+		File runs = new File(dir, "runs");
+		runs.mkdir();
+		try {
+			int chunk = m / (ExternalMST.FAN_IN * 3) + 1;
+			long w = weight(ExternalMST.execute(file.getPath(), chunk, runs));
+			long expected = weight(MST.execute(MST.initialize(new Graph(file.getPath()))));
+			check("ExternalMST, " + (m + chunk - 1) / chunk + " runs in several merge passes", w, expected);
+			check("ExternalMST leaves no run files", runs.list().length, 0);
+
+			String error = null;
+			try {
+				ExternalMST.execute(file.getPath(), chunk, runs, new ArcSink() {
+					public void arc(Vertex v1, Vertex v2, int weight)
+					throws IOException {
+						throw new IOException("sink failed");
+					}
+				});
+			} catch (IOException e) {
+				error = e.getMessage();
+			}
+			check("ExternalMST passes on a sink failure", "sink failed".equals(error), "got " + error);
+			check("ExternalMST leaves no run files after a sink failure", runs.list().length, 0);
+
+			PrintWriter pw = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+					StandardOpenOption.APPEND));
+			try {
+				pw.println("v0 nosuch 5");
+			} finally {
+				pw.close();
+			}
+			error = null;
+			try {
+				ExternalMST.execute(file.getPath(), chunk, runs);
+			} catch (IOException e) {
+				error = e.getMessage();
+			}
+			check("ExternalMST rejects an unknown vertex", error != null, "no error");
+			check("ExternalMST leaves no run files after a malformed input", runs.list().length, 0);
+		} finally {
+			for (File f: runs.listFiles()) {
+				f.delete();
+			}
+			runs.delete();
+		}
+	}
+
+	/**
+	 * Plain Kruskal over an edge list, as a reference for DynamicMST.
+	 */
+	static long kruskal(int n, EdgeList edges) {
+		UnionFind uf = new UnionFind(n);
+		long w = 0;
+		for (long key: edges.sortedKeys(false)) {
+			int e = EdgeList.keyEdge(key);
+			if (uf.union(edges.from[e], edges.to[e])) {
+				w += edges.weight[e];
+			}
+		}
+		return w;
+	}
+
+	/**
+	 * Checks Dijkstra and delta-stepping against Bellman-Ford, on generated graphs
+	 * of every shape and on a graph with unreachable vertices.
+	 */
+	static void checkShortestPaths()
+	throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		GraphGenerator.Shape[] shapes = GraphGenerator.Shape.values();
+		File[] files = new File[shapes.length + 1];
+		String[] labels = new String[files.length];
+		for (int i=0; i < shapes.length; i++) {
+			files[i] = generate(shapes[i], shapes[i] == GraphGenerator.Shape.COMPLETE ? 60 : 1000, 5000, 5);
+			labels[i] = shapes[i].toString();
+		}
+		files[shapes.length] = graphFile(new String[] {"a", "b", "c", "d", "e", "f"},
+				new int[][] {{0, 1, 5}, {1, 2, 3}, {0, 2, 9}, {3, 4, 7}});
+		labels[shapes.length] = "disconnected graph";
+		for (int i=0; i < files.length; i++) {
+			Graph graph = new Graph(files[i].getPath());
+			long[] expected = bellmanFord(graph, 0);
+			long[] dijkstra = ShortestPaths.dijkstra(graph, graph.vertices[0]).distance;
+			long[] delta = ShortestPaths.deltaStepping(graph, graph.vertices[0]).distance;
+			long[] narrow = ShortestPaths.deltaStepping(graph, graph.vertices[0], 1, pool).distance;
+			String label = " on " + labels[i];
+			check("Dijkstra against Bellman-Ford" + label, Arrays.equals(dijkstra, expected), "distances differ");
+			check("delta-stepping against Bellman-Ford" + label, Arrays.equals(delta, expected) &&
+					Arrays.equals(narrow, expected), "distances differ");
+		}
+		pool.shutdown();
+	}
+
+	/**
+	 * Plain Bellman-Ford over the adjacency lists, as a reference for the
+	 * shortest path engines.
+	 */
+	static long[] bellmanFord(Graph graph, int source) {
+		long[] dist = new long[graph.vertices.length];
+		Arrays.fill(dist, ShortestPaths.UNREACHABLE);
+		dist[source] = 0;
+		for (boolean changed=true; changed; ) {
+			changed = false;
+			for (int v=0; v < dist.length; v++) {
+				if (dist[v] == ShortestPaths.UNREACHABLE) {
+					continue;
+				}
+				for (Vertex.Neighbor nbr=graph.vertices[v].neighbors; nbr != null; nbr=nbr.next) {
+					if (dist[v] + nbr.weight < dist[nbr.vertex.id]) {
+						dist[nbr.vertex.id] = dist[v] + nbr.weight;
+						changed = true;
+					}
+				}
+			}
+		}
+		return dist;
+	}
+
+	/**
+	 * Writes arcs between ASCII and multi-byte UTF-8 names through an ArcWriter,
+	 * enough of them to cross many buffer flushes at every alignment, and reads
+	 * them back.
+	 */
+	static void checkArcWriter()
+	throws IOException {
+		int n = 20000;
+		String[] names = new String[n];
+		for (int v=0; v < n; v++) {
+			names[v] = v % 3 == 0 ? "v" + v : v % 3 == 1 ? "\u00f1and\u00fa" + v : "\u00e9\u20ac" + v;
+		}
+		Graph graph = new Graph(graphFile(names, new int[0][]).getPath());
+		File arcFile = temp(".arcs");
+		ArcWriter out = ArcWriter.open(arcFile.getPath());
+		try {
+			for (int v=1; v < n; v++) {
+				out.arc(graph.vertices[v-1], graph.vertices[v], v);
+			}
+		} finally {
+			out.close();
+		}
+
+		// decoded leniently, so that a split character shows up as a bad line
+		String[] lines = new String(Files.readAllBytes(arcFile.toPath()), StandardCharsets.UTF_8).split("\n");
+		String detail = lines.length == n-1 ? null : (n-1) + " lines expected, " + lines.length + " read";
+		for (int v=1; v < n && detail == null; v++) {
+			String expected = names[v-1] + " " + names[v] + " " + v;
+			if (!lines[v-1].equals(expected)) {
+				detail = "line " + v + " is \"" + lines[v-1] + "\", expected \"" + expected + "\"";
+			}
+		}
+		check("ArcWriter, non-ASCII names across " + (arcFile.length() / ArcWriter.BUFFER_SIZE) +
+				" buffer flushes", detail == null && out.count() == n-1, detail);
+	}
+}
@@ -0,0 +1,37 @@
+package apps;
+
+import java.util.ArrayList;
+
+/**
+ * Receives step-by-step events from the MST algorithm. No listener is installed
+ * by default, so the algorithm does no tracing work at all unless asked to.
+ */
+public interface MSTListener {
+
+	/**
+	 * Prints every step to the console, the way the algorithm used to.
+	 */
+	public static final MSTListener CONSOLE = new MSTListener() {
+		public void treeProcessed(PartialTree tree) {
+			System.out.println(tree);
+		}
+		public void finished(ArrayList<PartialTree.Arc> mst) {
+			System.out.println(mst);
+		}
+	};
+
+	/**
+	 * Called at the end of every iteration, with the partial tree that was taken
+	 * off the front of the list (merged with its neighbor, if any).
+	 * 
+	 * @param tree Partial tree processed in this iteration
+	 */
+	void treeProcessed(PartialTree tree);
+
+	/**
+	 * Called once the MST is complete.
+	 * 
+	 * @param mst Arcs in the MST
+	 */
+	void finished(ArrayList<PartialTree.Arc> mst);
+}
@@ -0,0 +1,66 @@
+package apps;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs a loop body over a range of ints on a fork/join pool, splitting the range
+ * in halves until the pieces are small enough to run directly.
+ */
+class ParallelFor extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Default size below which a range is not split any further.
+	 */
+	static final int GRAIN = 1 << 13;
+
+	/**
+	 * Body of a parallel loop over a range of ints.
+	 */
+	interface Body {
+		void run(int lo, int hi);
+	}
+
+	final int lo, hi, grain;
+	final Body body;
+
+	private ParallelFor(int lo, int hi, int grain, Body body) {
+		this.lo = lo;
+		this.hi = hi;
+		this.grain = grain;
+		this.body = body;
+	}
+
+	/**
+	 * Runs a body over [lo, hi) on a pool, and waits for it to finish.
+	 * 
+	 * @param pool Pool to run on
+	 * @param lo First index
+	 * @param hi One past the last index
+	 * @param grain Size below which a range is run directly
+	 * @param body Loop body
+	 */
+	static void run(ForkJoinPool pool, int lo, int hi, int grain, Body body) {
+		if (hi > lo) {
+			pool.invoke(new ParallelFor(lo, hi, Math.max(grain, 1), body));
+		}
+	}
+
+	/**
+	 * Runs a body over [lo, hi) on a pool with the default grain size.
+	 */
+	static void run(ForkJoinPool pool, int lo, int hi, Body body) {
+		run(pool, lo, hi, GRAIN, body);
+	}
+
+	protected void compute() {
+		if (hi - lo <= grain) {
+			body.run(lo, hi);
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		invokeAll(new ParallelFor(lo, mid, grain, body), new ParallelFor(mid, hi, grain, body));
+	}
+}
@@ -37,6 +37,10 @@ public class PartialTree {
 	    	this.weight = weight;
 	    }
 
+	    /**
+	     * Tells if another arc joins the same two vertices, in either order, with the
+	     * same weight. Vertices are compared by id.
+	     */
 	    @Override
 	    public boolean equals(Object o) {
 	    	if (o == null || !(o instanceof Arc)) {
@@ -44,8 +48,17 @@ public class PartialTree {
 	    	}
 	    	Arc other = (Arc)o;
 	    	return weight == other.weight && 
-	    			((v1.name.equals(other.v1.name) && v2.name.equals(other.v2.name)) ||
-	    			 (v1.name.equals(other.v2.name) && v2.name.equals(other.v1.name)));
+	    			((v1.id == other.v1.id && v2.id == other.v2.id) ||
+	    			 (v1.id == other.v2.id && v2.id == other.v1.id));
+	    }
+	    
+	    /* (non-Javadoc)
+	     * @see java.lang.Object#hashCode()
+	     */
+	    @Override
+	    public int hashCode() {
+	    	int lo = Math.min(v1.id, v2.id), hi = Math.max(v1.id, v2.id);
+	    	return (lo * 31 + hi) * 31 + weight;
 	    }
 	    
 	    /**
@@ -73,18 +86,25 @@ public class PartialTree {
 	private Vertex root;
     
 	/**
-	 * The arcs included in this partial tree
+	 * The arcs included in this partial tree, packed into longs
 	 */
-	private MinHeap<Arc> arcs;
+	private LongMinHeap arcs;
+	
+	/**
+	 * Table that resolves packed arcs into their endpoints
+	 */
+	private ArcTable table;
 
 	/**
 	 * Initializes this partial tree with given vertex
 	 * 
 	 * @param vertex Vertex used to initialize the tree
+	 * @param table Table in which the arcs of this tree are stored
 	 */
-    public PartialTree(Vertex vertex) {
+    public PartialTree(Vertex vertex, ArcTable table) {
     	root = vertex;
-    	arcs = new MinHeap<Arc>();
+    	arcs = new LongMinHeap();
+    	this.table = table;
     }
 
     /**
@@ -107,21 +127,33 @@ public class PartialTree {
     }
     
     /**
-     * Returns the priority-ordered arc set of this tree. The lower the weight of an arc,
-     * the higher its priority.
+     * Returns the priority-ordered arc set of this tree, as packed arcs. The lower 
+     * the weight of an arc, the higher its priority.
      * 
      * @return Priority-ordered arc set.
      */
-    public MinHeap<Arc> getArcs() {
+    public LongMinHeap getArcs() {
     	return arcs;
     }
     
+    /**
+     * Returns the table that resolves this tree's packed arcs.
+     * 
+     * @return Arc table
+     */
+    public ArcTable getArcTable() {
+    	return table;
+    }
+    
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
     public String toString() {
-    	String ret = "Vertices: " + root.toString();
-    	ret += "  PQ: " + arcs;
-    	return ret;
+    	StringBuilder ret = new StringBuilder("Vertices: ").append(root);
+    	ret.append("  PQ: ");
+    	for (int i=0; i < arcs.size(); i++) {
+    		ret.append("  ").append(table.toString(arcs.get(i)));
+    	}
+    	return ret.toString();
     }
 }
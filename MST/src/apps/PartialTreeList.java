@@ -103,17 +103,21 @@ public class PartialTreeList implements Iterable<PartialTree> {
      */
     public PartialTree removeTreeContaining(Vertex vertex) 
     throws NoSuchElementException {
+    	if (rear == null)
+    		throw new NoSuchElementException(); 
     	Node prev = rear;
     	PartialTree tgtPT = null;
     	Node ptr = rear.next;
-    	if (rear == null)
-    		throw new NoSuchElementException(); 
     	do {
     		if (vertex.getRoot().equals(ptr.tree.getRoot())) {
     			if (ptr == rear)
     				rear = prev;
     			tgtPT = ptr.tree;
     			size--;
+    			if (size == 0) {
+    				rear = null;
+    				return tgtPT;
+    			}
     			ptr = ptr.next;
     			prev.next = ptr;
     			return tgtPT;
@@ -0,0 +1,52 @@
+package apps;
+
+import java.util.ArrayList;
+
+import structures.*;
+
+/**
+ * Prim's MST algorithm on an indexed heap with decrease-key. The heap holds at
+ * most one entry per vertex - the cheapest known arc into the tree - so it is
+ * bounded by the number of vertices rather than the number of arcs, and no stale
+ * arcs ever have to be skipped.
+ */
+public class Prim {
+
+	/**
+	 * Finds the MST of a graph.
+	 * 
+	 * @param graph Graph for which the MST is to be found
+	 * @return Array list of all arcs that are in the MST - sequence of arcs is irrelevant
+	 */
+	public static ArrayList<PartialTree.Arc> execute(Graph graph) {
+		int n = graph.vertices.length;
+		ArrayList<PartialTree.Arc> mst = new ArrayList<PartialTree.Arc>(Math.max(n-1, 0));
+		IndexedMinHeap heap = new IndexedMinHeap(n);
+		boolean[] inTree = new boolean[n];
+		// vertex at the tree end of the cheapest known arc into each vertex
+		Vertex[] via = new Vertex[n];
+
+		for (int s=0; s < n; s++) {
+			if (inTree[s]) {
+				continue;
+			}
+			// grow a tree from every vertex not yet reached
+			heap.insert(s, Long.MIN_VALUE);
+			while (!heap.isEmpty()) {
+				long wt = heap.key(heap.getMin());
+				int u = heap.deleteMin();
+				inTree[u] = true;
+				if (via[u] != null) {
+					mst.add(new PartialTree.Arc(via[u], graph.vertices[u], (int)wt));
+				}
+				for (Vertex.Neighbor nbr=graph.vertices[u].neighbors; nbr != null; nbr=nbr.next) {
+					int v = nbr.vertex.id;
+					if (!inTree[v] && heap.insertOrDecrease(v, nbr.weight)) {
+						via[v] = graph.vertices[u];
+					}
+				}
+			}
+		}
+		return mst;
+	}
+}
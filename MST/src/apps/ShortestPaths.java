@@ -0,0 +1,309 @@
+package apps;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import structures.*;
+
+/**
+ * Single-source shortest paths over a graph with non-negative edge weights.
+ * Distances and predecessors are indexed by vertex id; a vertex that cannot be
+ * reached has distance UNREACHABLE and predecessor -1, as does the source's
+ * predecessor.
+ */
+public class ShortestPaths {
+
+	/**
+	 * Distance of a vertex that cannot be reached from the source.
+	 */
+	public static final long UNREACHABLE = Long.MAX_VALUE;
+
+	/**
+	 * Distance from the source to every vertex.
+	 */
+	public final long[] distance;
+
+	/**
+	 * Previous vertex on a shortest path from the source to every vertex.
+	 */
+	public final int[] predecessor;
+
+	private ShortestPaths(long[] distance, int[] predecessor) {
+		this.distance = distance;
+		this.predecessor = predecessor;
+	}
+
+	/**
+	 * Dijkstra's algorithm on an indexed heap with decrease-key.
+	 * 
+	 * @param graph Graph to search
+	 * @param source Vertex from which distances are measured
+	 * @return Distances and predecessors of all vertices
+	 * @throws IllegalArgumentException If a reachable edge has a negative weight
+	 */
+	public static ShortestPaths dijkstra(Graph graph, Vertex source) 
+	throws IllegalArgumentException {
+		int n = graph.vertices.length;
+		long[] dist = new long[n];
+		int[] pred = new int[n];
+		Arrays.fill(dist, UNREACHABLE);
+		Arrays.fill(pred, -1);
+		boolean[] done = new boolean[n];
+		IndexedMinHeap heap = new IndexedMinHeap(n);
+		dist[source.id] = 0;
+		heap.insert(source.id, 0);
+		while (!heap.isEmpty()) {
+			int u = heap.deleteMin();
+			done[u] = true;
+			for (Vertex.Neighbor nbr=graph.vertices[u].neighbors; nbr != null; nbr=nbr.next) {
+				if (nbr.weight < 0) {
+					throw new IllegalArgumentException("Negative edge weight " + nbr.weight);
+				}
+				int v = nbr.vertex.id;
+				long d = dist[u] + nbr.weight;
+				if (!done[v] && d < dist[v]) {
+					dist[v] = d;
+					pred[v] = u;
+					heap.insertOrDecrease(v, d);
+				}
+			}
+		}
+		return new ShortestPaths(dist, pred);
+	}
+
+	/**
+	 * Parallel delta-stepping on the common fork/join pool, with a bucket width
+	 * equal to the average edge weight.
+	 * 
+	 * @param graph Graph to search
+	 * @param source Vertex from which distances are measured
+	 * @return Distances and predecessors of all vertices
+	 * @throws IllegalArgumentException If an edge has a negative weight
+	 */
+	public static ShortestPaths deltaStepping(Graph graph, Vertex source) 
+	throws IllegalArgumentException {
+		return deltaStepping(graph, source, 0, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Parallel delta-stepping (Meyer and Sanders). Vertices are kept in buckets
+	 * of width delta by tentative distance; all vertices of the lowest bucket have
+	 * their light edges (weight at most delta) relaxed in parallel until the
+	 * bucket stays empty, then the heavy edges of every vertex settled from that
+	 * bucket are relaxed in parallel. Relaxations race through compare-and-set on
+	 * the distances, and predecessors are derived from the final distances.
+	 * 
+	 * @param graph Graph to search
+	 * @param source Vertex from which distances are measured
+	 * @param delta Bucket width, or 0 or less to use the average edge weight
+	 * @param pool Pool on which relaxations are run
+	 * @return Distances and predecessors of all vertices
+	 * @throws IllegalArgumentException If an edge has a negative weight
+	 */
+	public static ShortestPaths deltaStepping(Graph graph, Vertex source, long delta, ForkJoinPool pool) 
+	throws IllegalArgumentException {
+		final int n = graph.vertices.length;
+
+		// flatten the adjacency lists so parallel relaxation does no pointer chasing
+		final int[] off = new int[n+1];
+		for (int v=0; v < n; v++) {
+			off[v+1] = off[v];
+			for (Vertex.Neighbor nbr=graph.vertices[v].neighbors; nbr != null; nbr=nbr.next) {
+				off[v+1]++;
+			}
+		}
+		final int[] tgt = new int[off[n]];
+		final int[] wt = new int[off[n]];
+		long weightSum = 0;
+		boolean zeroWeights = false;
+		for (int v=0, i=0; v < n; v++) {
+			for (Vertex.Neighbor nbr=graph.vertices[v].neighbors; nbr != null; nbr=nbr.next, i++) {
+				if (nbr.weight < 0) {
+					throw new IllegalArgumentException("Negative edge weight " + nbr.weight);
+				}
+				tgt[i] = nbr.vertex.id;
+				wt[i] = nbr.weight;
+				weightSum += nbr.weight;
+				zeroWeights |= nbr.weight == 0;
+			}
+		}
+		if (delta <= 0) {
+			delta = Math.max(1, tgt.length == 0 ? 1 : weightSum / tgt.length);
+		}
+		final long width = delta;
+
+		final AtomicLongArray dist = new AtomicLongArray(n);
+		for (int v=0; v < n; v++) {
+			dist.set(v, UNREACHABLE);
+		}
+		dist.set(source.id, 0);
+		TreeMap<Long,IntList> buckets = new TreeMap<Long,IntList>();
+		IntList first = new IntList();
+		first.add(source.id);
+		buckets.put(0L, first);
+		final int[] mark = new int[n];
+		int epoch = 0;
+
+		while (!buckets.isEmpty()) {
+			final long b = buckets.firstKey();
+			IntList settled = new IntList();
+			IntList bucket;
+			while ((bucket = buckets.remove(b)) != null) {
+				// keep the vertices still in this bucket, once each
+				epoch++;
+				final IntList frontier = new IntList();
+				for (int i=0; i < bucket.size; i++) {
+					int v = bucket.items[i];
+					if (mark[v] != epoch && dist.get(v) / width == b) {
+						mark[v] = epoch;
+						frontier.add(v);
+					}
+				}
+				settled.addAll(frontier);
+				addAll(buckets, relax(pool, frontier, off, tgt, wt, dist, width, true), dist, width);
+			}
+			// settled may hold a vertex twice if it re-entered the bucket, which is harmless
+			addAll(buckets, relax(pool, settled, off, tgt, wt, dist, width, false), dist, width);
+		}
+
+		final long[] d = new long[n];
+		for (int v=0; v < n; v++) {
+			d[v] = dist.get(v);
+		}
+		final int[] pred = new int[n];
+		final int s = source.id;
+		if (zeroWeights) {
+			// any tight edge will not do, since zero weight edges could make a cycle of them
+			tightTree(s, off, tgt, wt, d, pred);
+			return new ShortestPaths(d, pred);
+		}
+		ParallelFor.run(pool, 0, n, new ParallelFor.Body() {
+			public void run(int lo, int hi) {
+				for (int v=lo; v < hi; v++) {
+					pred[v] = -1;
+					if (v == s || d[v] == UNREACHABLE) {
+						continue;
+					}
+					for (int i=off[v]; i < off[v+1]; i++) {
+						int u = tgt[i];
+						if (d[u] != UNREACHABLE && d[u] + wt[i] == d[v]) {
+							pred[v] = u;
+							break;
+						}
+					}
+				}
+			}
+		});
+		return new ShortestPaths(d, pred);
+	}
+
+	/**
+	 * Sets predecessors by a breadth-first search from the source over the edges
+	 * whose weight exactly accounts for the distance difference of their endpoints.
+	 */
+	private static void tightTree(int s, int[] off, int[] tgt, int[] wt, long[] d, int[] pred) {
+		Arrays.fill(pred, -1);
+		boolean[] seen = new boolean[d.length];
+		int[] queue = new int[d.length];
+		int head = 0, tail = 0;
+		queue[tail++] = s;
+		seen[s] = true;
+		while (head < tail) {
+			int u = queue[head++];
+			for (int i=off[u]; i < off[u+1]; i++) {
+				int v = tgt[i];
+				if (!seen[v] && d[u] + wt[i] == d[v]) {
+					seen[v] = true;
+					pred[v] = u;
+					queue[tail++] = v;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Relaxes the light (or heavy) edges out of a set of vertices in parallel.
+	 * 
+	 * @return Lists of vertices whose distance was lowered
+	 */
+	private static ConcurrentLinkedQueue<IntList> relax(ForkJoinPool pool, final IntList from, 
+			final int[] off, final int[] tgt, final int[] wt, final AtomicLongArray dist, 
+			final long width, final boolean light) {
+		final ConcurrentLinkedQueue<IntList> improved = new ConcurrentLinkedQueue<IntList>();
+		ParallelFor.run(pool, 0, from.size, 256, new ParallelFor.Body() {
+			public void run(int lo, int hi) {
+				IntList local = new IntList();
+				for (int k=lo; k < hi; k++) {
+					int u = from.items[k];
+					long du = dist.get(u);
+					for (int i=off[u]; i < off[u+1]; i++) {
+						if ((wt[i] <= width) != light) {
+							continue;
+						}
+						int v = tgt[i];
+						long d = du + wt[i];
+						for (;;) {
+							long cur = dist.get(v);
+							if (d >= cur) {
+								break;
+							}
+							if (dist.compareAndSet(v, cur, d)) {
+								local.add(v);
+								break;
+							}
+						}
+					}
+				}
+				if (local.size > 0) {
+					improved.add(local);
+				}
+			}
+		});
+		return improved;
+	}
+
+	/**
+	 * Puts every improved vertex in the bucket for its current distance.
+	 */
+	private static void addAll(TreeMap<Long,IntList> buckets, ConcurrentLinkedQueue<IntList> improved, 
+			AtomicLongArray dist, long width) {
+		for (IntList list: improved) {
+			for (int i=0; i < list.size; i++) {
+				int v = list.items[i];
+				Long b = dist.get(v) / width;
+				IntList bucket = buckets.get(b);
+				if (bucket == null) {
+					bucket = new IntList();
+					buckets.put(b, bucket);
+				}
+				bucket.add(v);
+			}
+		}
+	}
+
+	/**
+	 * Growable list of ints.
+	 */
+	static class IntList {
+		int[] items = new int[16];
+		int size;
+
+		void add(int x) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size*2);
+			}
+			items[size++] = x;
+		}
+
+		void addAll(IntList other) {
+			if (size + other.size > items.length) {
+				items = Arrays.copyOf(items, Math.max(size*2, size + other.size));
+			}
+			System.arraycopy(other.items, 0, items, size, other.size);
+			size += other.size;
+		}
+	}
+}
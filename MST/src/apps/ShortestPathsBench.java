@@ -0,0 +1,56 @@
+package apps;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Scanner;
+
+import structures.Graph;
+
+/**
+ * Compares Dijkstra and delta-stepping on a random connected graph from
+ * GraphGenerator.
+ */
+public class ShortestPathsBench {
+
+	/**
+	 * Number of timed runs of each engine.
+	 */
+	static final int RUNS = 5;
+
+	public static void main(String[] args) 
+	throws IOException {
+		
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter number of vertices: ");
+		int n = sysin.nextInt();
+		System.out.print("Enter number of edges: ");
+		long m = sysin.nextLong();
+		System.out.print("Enter random seed: ");
+		long seed = sysin.nextLong();
+		
+		File file = File.createTempFile("sssp", ".txt");
+		file.deleteOnExit();
+		m = GraphGenerator.generate(GraphGenerator.Shape.RANDOM, n, m, seed, file.getPath());
+		Graph graph = new Graph(file.getPath(), true);
+		
+		long[] reference = null;
+		for (int engine=0; engine < 2; engine++) {
+			long best = Long.MAX_VALUE;
+			for (int r=0; r < RUNS; r++) {
+				long start = System.nanoTime();
+				ShortestPaths sp = engine == 0 
+						? ShortestPaths.dijkstra(graph, graph.vertices[0])
+						: ShortestPaths.deltaStepping(graph, graph.vertices[0]);
+				best = Math.min(best, System.nanoTime() - start);
+				if (reference == null) {
+					reference = sp.distance;
+				} else if (!Arrays.equals(reference, sp.distance)) {
+					throw new IllegalStateException("Engines disagree on distances");
+				}
+			}
+			System.out.printf("%-15s %10.1f ms %12.0f edges/s%n", 
+					engine == 0 ? "dijkstra" : "delta-stepping", best/1e6, m*1e9/best);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package structures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint sets over the ints 0 to n-1, safe to use from many threads
+ * at once. Roots are linked by compare-and-set, always putting the lower id
+ * under the higher one so that concurrent unions can never form a cycle.
+ * Finds compress paths by halving, also with compare-and-set.
+ */
+public class AtomicUnionFind {
+
+	/**
+	 * Parent of every element; roots are their own parent.
+	 */
+	private final AtomicIntegerArray parent;
+
+	/**
+	 * Initializes n singleton sets.
+	 * 
+	 * @param n Number of elements
+	 */
+	public AtomicUnionFind(int n) {
+		parent = new AtomicIntegerArray(n);
+		for (int i=0; i < n; i++) {
+			parent.lazySet(i, i);
+		}
+	}
+
+	/**
+	 * Finds the representative of the set containing an element.
+	 * 
+	 * @param x Element
+	 * @return Representative of x's set
+	 */
+	public int find(int x) {
+		for (;;) {
+			int p = parent.get(x);
+			if (p == x) {
+				return x;
+			}
+			int gp = parent.get(p);
+			if (gp != p) {
+				// path halving, harmless if another thread got there first
+				parent.compareAndSet(x, p, gp);
+			}
+			x = gp;
+		}
+	}
+
+	/**
+	 * Merges the sets containing two elements.
+	 * 
+	 * @param x Element
+	 * @param y Element
+	 * @return True if this call merged two different sets, false if they were already one
+	 */
+	public boolean union(int x, int y) {
+		for (;;) {
+			x = find(x);
+			y = find(y);
+			if (x == y) {
+				return false;
+			}
+			if (x > y) {
+				int t = x; x = y; y = t;
+			}
+			if (parent.compareAndSet(x, x, y)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Tells if an element is the representative of its set.
+	 * 
+	 * @param x Element
+	 * @return True if x is a root
+	 */
+	public boolean isRoot(int x) {
+		return parent.get(x) == x;
+	}
+
+	/**
+	 * Returns the number of elements.
+	 * 
+	 * @return Number of elements
+	 */
+	public int size() {
+		return parent.length();
+	}
+}
@@ -0,0 +1,222 @@
+package structures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits a byte range of a file into whitespace separated tokens, without going
+ * through a Reader or regular expressions. Reads are positional, so several
+ * tokenizers may work on disjoint ranges of the same channel at the same time.
+ */
+class ByteTokenizer {
+
+	/**
+	 * Size of the read buffer, in bytes.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Channel being read.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Read buffer, and its backing array.
+	 */
+	private final ByteBuffer buf;
+	private final byte[] bytes;
+
+	/**
+	 * Next unread byte in the buffer, and number of valid bytes in the buffer.
+	 */
+	private int pos, lim;
+
+	/**
+	 * File offset of the next buffer fill, and (exclusive) end of the range.
+	 */
+	private long next, end;
+
+	/**
+	 * The most recently read token.
+	 */
+	private byte[] token;
+	private int tokenLength;
+
+	/**
+	 * Initializes a tokenizer over the bytes [start, end) of a channel.
+	 *
+	 * @param channel Channel to read
+	 * @param start File offset of the first byte of the range
+	 * @param end File offset one past the last byte of the range
+	 */
+	ByteTokenizer(FileChannel channel, long start, long end) {
+		this.channel = channel;
+		bytes = new byte[BUFFER_SIZE];
+		buf = ByteBuffer.wrap(bytes);
+		token = new byte[64];
+		next = start;
+		this.end = end;
+		pos = lim = 0;
+	}
+
+	/**
+	 * Refills the buffer from the channel.
+	 *
+	 * @return True if at least one byte was read, false at the end of the range
+	 * @throws IOException If the channel cannot be read
+	 */
+	private boolean fill()
+	throws IOException {
+		if (next >= end) {
+			return false;
+		}
+		buf.clear();
+		buf.limit((int)Math.min(bytes.length, end - next));
+		int n = 0;
+		while (buf.hasRemaining()) {
+			int r = channel.read(buf, next + n);
+			if (r < 0) {
+				break;
+			}
+			n += r;
+		}
+		if (n == 0) {
+			end = next;
+			return false;
+		}
+		next += n;
+		pos = 0;
+		lim = n;
+		return true;
+	}
+
+	/**
+	 * Returns the file offset of the next unread byte.
+	 *
+	 * @return File offset
+	 */
+	long position() {
+		return next - (lim - pos);
+	}
+
+	/**
+	 * Moves to the next token, skipping any whitespace before it.
+	 *
+	 * @return True if a token was read, false if the range is exhausted
+	 * @throws IOException If the channel cannot be read
+	 */
+	boolean nextToken()
+	throws IOException {
+		// skip whitespace
+		for (;;) {
+			if (pos == lim && !fill()) {
+				return false;
+			}
+			if ((bytes[pos] & 0xff) > ' ') {
+				break;
+			}
+			pos++;
+		}
+		// copy token bytes, which may straddle a refill
+		tokenLength = 0;
+		for (;;) {
+			if (pos == lim && !fill()) {
+				break;
+			}
+			byte b = bytes[pos];
+			if ((b & 0xff) <= ' ') {
+				break;
+			}
+			if (tokenLength == token.length) {
+				byte[] bigger = new byte[token.length*2];
+				System.arraycopy(token, 0, bigger, 0, tokenLength);
+				token = bigger;
+			}
+			token[tokenLength++] = b;
+			pos++;
+		}
+		return true;
+	}
+
+	/**
+	 * Moves just past the next line break, or to the end of the range.
+	 *
+	 * @throws IOException If the channel cannot be read
+	 */
+	void skipLine()
+	throws IOException {
+		for (;;) {
+			if (pos == lim && !fill()) {
+				return;
+			}
+			if (bytes[pos++] == '\n') {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the bytes of the current token. Only the first tokenLength() bytes
+	 * are valid, and the array is reused by the next call to nextToken().
+	 *
+	 * @return Token bytes
+	 */
+	byte[] token() {
+		return token;
+	}
+
+	/**
+	 * Returns the number of bytes in the current token.
+	 *
+	 * @return Token length
+	 */
+	int tokenLength() {
+		return tokenLength;
+	}
+
+	/**
+	 * Returns the current token as a string.
+	 *
+	 * @return Token string, decoded as UTF-8
+	 */
+	String tokenString() {
+		return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Parses the current token as a decimal int.
+	 *
+	 * @return Value of the token
+	 * @throws NumberFormatException If the token is not a valid int
+	 */
+	int tokenInt()
+	throws NumberFormatException {
+		int i = 0;
+		boolean negative = false;
+		if (tokenLength > 0 && (token[0] == '-' || token[0] == '+')) {
+			negative = token[0] == '-';
+			i++;
+		}
+		if (i == tokenLength) {
+			throw new NumberFormatException("For input string: \"" + tokenString() + "\"");
+		}
+		long value = 0;
+		for (; i < tokenLength; i++) {
+			int d = token[i] - '0';
+			if (d < 0 || d > 9) {
+				throw new NumberFormatException("For input string: \"" + tokenString() + "\"");
+			}
+			value = value*10 + d;
+			if (value > (long)Integer.MAX_VALUE + 1) {
+				throw new NumberFormatException("For input string: \"" + tokenString() + "\"");
+			}
+		}
+		value = negative ? -value : value;
+		if (value > Integer.MAX_VALUE) {
+			throw new NumberFormatException("For input string: \"" + tokenString() + "\"");
+		}
+		return (int)value;
+	}
+}
@@ -0,0 +1,129 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * The edges of a graph in flat int arrays, each undirected edge listed once,
+ * with edges identified by their index in the arrays. Self loops are dropped
+ * since they can never be part of a spanning tree.
+ */
+public class EdgeList {
+
+	/**
+	 * Endpoint ids and weights of the edges. Only the first count entries are valid.
+	 */
+	public int[] from, to, weight;
+
+	/**
+	 * Number of edges.
+	 */
+	public int count;
+
+	/**
+	 * Initializes an empty edge list with the given capacity.
+	 * 
+	 * @param cap Initial capacity
+	 */
+	public EdgeList(int cap) {
+		from = new int[cap];
+		to = new int[cap];
+		weight = new int[cap];
+		count = 0;
+	}
+
+	/**
+	 * Extracts the edges of a graph from its adjacency lists.
+	 * 
+	 * @param graph Graph whose edges are extracted
+	 * @return Edge list of the graph
+	 */
+	public static EdgeList of(Graph graph) {
+		int entries = 0;
+		for (Vertex v: graph.vertices) {
+			for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+				entries++;
+			}
+		}
+		EdgeList edges = new EdgeList(entries/2);
+		for (Vertex v: graph.vertices) {
+			for (Vertex.Neighbor nbr=v.neighbors; nbr != null; nbr=nbr.next) {
+				// every edge is in both endpoints' lists, keep the copy from the lower id
+				if (nbr.vertex.id > v.id) {
+					edges.add(v.id, nbr.vertex.id, nbr.weight);
+				}
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * Appends an edge.
+	 * 
+	 * @param v1 Id of one endpoint
+	 * @param v2 Id of the other endpoint
+	 * @param wt Weight of the edge
+	 */
+	public void add(int v1, int v2, int wt) {
+		if (count == from.length) {
+			int cap = Math.max(16, count < 1<<29 ? count*2 : Integer.MAX_VALUE-8);
+			from = Arrays.copyOf(from, cap);
+			to = Arrays.copyOf(to, cap);
+			weight = Arrays.copyOf(weight, cap);
+		}
+		from[count] = v1;
+		to[count] = v2;
+		weight[count] = wt;
+		count++;
+	}
+
+	/**
+	 * Packs an edge weight and edge index into a long whose natural ordering
+	 * is by weight, then by index.
+	 * 
+	 * @param wt Edge weight
+	 * @param e Edge index
+	 * @return Packed key
+	 */
+	public static long key(int wt, int e) {
+		return ((long)wt << 32) | (e & 0xffffffffL);
+	}
+
+	/**
+	 * Returns the edge weight held in a packed key.
+	 * 
+	 * @param key Packed key
+	 * @return Edge weight
+	 */
+	public static int keyWeight(long key) {
+		return (int)(key >> 32);
+	}
+
+	/**
+	 * Returns the edge index held in a packed key.
+	 * 
+	 * @param key Packed key
+	 * @return Edge index
+	 */
+	public static int keyEdge(long key) {
+		return (int)key;
+	}
+
+	/**
+	 * Returns the packed keys of all edges, sorted by weight.
+	 * 
+	 * @param parallel True to sort with Arrays.parallelSort
+	 * @return Sorted keys
+	 */
+	public long[] sortedKeys(boolean parallel) {
+		long[] keys = new long[count];
+		for (int e=0; e < count; e++) {
+			keys[e] = key(weight[e], e);
+		}
+		if (parallel) {
+			Arrays.parallelSort(keys);
+		} else {
+			Arrays.sort(keys);
+		}
+		return keys;
+	}
+}
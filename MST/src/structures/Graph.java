@@ -1,6 +1,5 @@
 package structures;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -15,33 +14,72 @@ public class Graph {
     public Vertex[] vertices;
 
     /**
-     * Hash map of vertex name -> vertex number mappings
+     * Vertex name -> vertex number mappings
      */
-    HashMap<String,Integer> vertmap;
+    NameInterner vertmap;
 
     /**
-     * Constructs a graph out of a plain text description in an input file.
+     * Constructs a graph out of a plain text description in an input file,
+     * or out of a binary graph file (see {@link GraphFile}).
      * 
      * @param file Name of the file that has the input graph description.
      * @throws IOException If the input file is not found.
      */
     public Graph(String file) 
     throws IOException {
-    	Scanner sc = new Scanner(new File(file));
-    	// first line is number of vertices
-    	vertices = new Vertex[sc.nextInt()];
-    	vertmap = new HashMap<String,Integer>(vertices.length,2f);
+    	this(file, false);
+    }
+    
+    /**
+     * Constructs a graph out of a plain text description in an input file,
+     * optionally parsing the edges in parallel chunks.
+     * 
+     * @param file Name of the file that has the input graph description.
+     * @param parallel True to parse the edges in parallel, which requires one edge per line
+     * @throws IOException If the input file is not found.
+     */
+    public Graph(String file, boolean parallel) 
+    throws IOException {
+    	if (GraphFile.isBinary(file)) {
+    		load(GraphFile.open(file));
+    	} else {
+    		load(GraphReader.read(file, parallel));
+    	}
+    }
+    
+    /**
+     * Constructs a graph out of a memory-mapped binary graph file.
+     * 
+     * @param file Mapped binary graph file.
+     * @throws IOException If the file lists a vertex name twice.
+     */
+    public Graph(GraphFile file) 
+    throws IOException {
+    	load(file);
+    }
+    
+    /**
+     * Constructs a graph out of the vertices and edges read by a graph reader.
+     * 
+     * @param reader Reader that has loaded the input graph description.
+     */
+    public Graph(GraphReader reader) {
+    	load(reader);
+    }
+    
+    private void load(GraphReader reader) {
     	// add all vertices
+    	vertices = new Vertex[reader.vertexCount()];
     	for (int v=0; v < vertices.length; v++) {
-    		vertices[v] = new Vertex(sc.next());
-    		vertmap.put(vertices[v].name, v);
+    		vertices[v] = new Vertex(reader.name(v), v);
     	}
+    	vertmap = reader.vertmap;
     	
     	// add edges
-    	while (sc.hasNext()) {
-    		Vertex vx1 = vertices[vertmap.get(sc.next())];
-    		Vertex vx2 = vertices[vertmap.get(sc.next())];
-    		int wt = sc.nextInt();
+    	for (int e=0; e < reader.edgeCount; e++) {
+    		Vertex vx1 = vertices[reader.from[e]];
+    		Vertex vx2 = vertices[reader.to[e]];
+    		int wt = reader.weights[e];
     		
     		// add vx2 to vx1's list
     		Vertex.Neighbor nbr = new Vertex.Neighbor(vx2,wt);
@@ -54,6 +92,40 @@ public class Graph {
     	}
     }
     
+    private void load(GraphFile file) 
+    throws IOException {
+    	// add all vertices
+    	vertices = new Vertex[file.vertexCount()];
+    	vertmap = new NameInterner(vertices.length);
+    	for (int v=0; v < vertices.length; v++) {
+    		vertices[v] = new Vertex(file.name(v), v);
+    		if (vertmap.intern(vertices[v].name) != v) {
+    			throw new IOException("Duplicate vertex " + vertices[v].name);
+    		}
+    	}
+    	
+    	// add neighbors back to front, so that the lists come out in file order
+    	for (int v=0; v < vertices.length; v++) {
+    		long lo = file.start(v);
+    		for (long i=file.start(v+1)-1; i >= lo; i--) {
+    			Vertex.Neighbor nbr = new Vertex.Neighbor(vertices[file.target(i)], file.weight(i));
+    			nbr.next = vertices[v].neighbors;
+    			vertices[v].neighbors = nbr;
+    		}
+    	}
+    }
+    
+    /**
+     * Looks up a vertex by name.
+     * 
+     * @param name Name of the vertex
+     * @return Vertex with that name, or null if there is none
+     */
+    public Vertex vertex(String name) {
+    	int v = vertmap.find(name);
+    	return v < 0 ? null : vertices[v];
+    }
+    
     /**
      * Prints this graph
      */
@@ -0,0 +1,363 @@
+package structures;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary form of a weighted, undirected graph, opened by memory-mapping
+ * the file so that the pages are loaded on demand and shared between processes.
+ *
+ * The layout (all values big-endian) is:
+ * <pre>
+ *   int  MAGIC, int VERSION
+ *   int  number of vertices V
+ *   long number of adjacency entries A (twice the number of edges)
+ *   long number of name bytes N
+ *   long[V+1] name offsets, byte[N] UTF-8 vertex names, zero padding to 8 bytes
+ *   long[V+1] adjacency offsets, int[A] neighbor ids, int[A] weights
+ * </pre>
+ * The neighbors of vertex v are the entries offsets[v] (inclusive) to offsets[v+1]
+ * (exclusive), in the same order as the neighbor list of v in {@link Graph}.
+ */
+public class GraphFile {
+
+	/**
+	 * First four bytes of every binary graph file ("GRPH").
+	 */
+	public static final int MAGIC = 0x47525048;
+
+	/**
+	 * Version of the layout written by this class.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Size of the fixed header, in bytes.
+	 */
+	static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8;
+
+	/**
+	 * Number of vertices, and of adjacency entries.
+	 */
+	private final int vertexCount;
+	private final long adjacencyCount;
+
+	/**
+	 * Mapped sections of the file.
+	 */
+	private final Section nameOffsets, nameBytes, offsets, targets, weights;
+
+	private GraphFile(FileChannel channel)
+	throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		while (header.hasRemaining() && channel.read(header, header.position()) >= 0);
+		header.flip();
+		if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+			throw new IOException("Not a binary graph file");
+		}
+		int version = header.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary graph version " + version);
+		}
+		vertexCount = header.getInt();
+		adjacencyCount = header.getLong();
+		long nameLength = header.getLong();
+
+		long pos = HEADER_SIZE;
+		nameOffsets = new Section(channel, pos, vertexCount+1L, 8);
+		pos += (vertexCount+1L)*8;
+		nameBytes = new Section(channel, pos, nameLength, 1);
+		pos += pad(nameLength);
+		offsets = new Section(channel, pos, vertexCount+1L, 8);
+		pos += (vertexCount+1L)*8;
+		targets = new Section(channel, pos, adjacencyCount, 4);
+		pos += adjacencyCount*4;
+		weights = new Section(channel, pos, adjacencyCount, 4);
+		pos += adjacencyCount*4;
+		if (pos > channel.size()) {
+			throw new IOException("Truncated binary graph file");
+		}
+	}
+
+	/**
+	 * Opens a binary graph file by memory-mapping it. Only the header is read.
+	 *
+	 * @param file Name of the binary graph file
+	 * @return Mapped graph file
+	 * @throws IOException If the file cannot be read or is not a binary graph file
+	 */
+	public static GraphFile open(String file)
+	throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			// mappings stay valid after the channel is closed
+			return new GraphFile(channel);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Tells if a file starts with the binary graph magic number.
+	 *
+	 * @param file Name of the file
+	 * @return True if the file is in the binary graph format
+	 * @throws IOException If the file cannot be read
+	 */
+	public static boolean isBinary(String file)
+	throws IOException {
+		InputStream in = Files.newInputStream(Paths.get(file));
+		try {
+			int magic = 0;
+			for (int i=0; i < 4; i++) {
+				int b = in.read();
+				if (b < 0) {
+					return false;
+				}
+				magic = (magic << 8) | b;
+			}
+			return magic == MAGIC;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Converts a plain text graph description into the binary format.
+	 *
+	 * @param textFile Name of the input file in the text format
+	 * @param binFile Name of the output file
+	 * @throws IOException If either file cannot be accessed
+	 */
+	public static void convert(String textFile, String binFile)
+	throws IOException {
+		GraphReader gr = GraphReader.read(textFile, true);
+		int n = gr.vertexCount();
+		String[] names = new String[n];
+		for (int v=0; v < n; v++) {
+			names[v] = gr.name(v);
+		}
+		long[] off = new long[n+1];
+		for (int e=0; e < gr.edgeCount; e++) {
+			off[gr.from[e]+1]++;
+			off[gr.to[e]+1]++;
+		}
+		for (int v=0; v < n; v++) {
+			off[v+1] += off[v];
+		}
+		if (off[n] > Integer.MAX_VALUE - 8) {
+			throw new IOException("Too many edges to convert in memory: " + gr.edgeCount);
+		}
+		int[] tgt = new int[(int)off[n]];
+		int[] wt = new int[tgt.length];
+		long[] cursor = off.clone();
+		// Graph prepends every neighbor, so its lists hold the edges in reverse input order
+		for (int e=gr.edgeCount-1; e >= 0; e--) {
+			int i = (int)cursor[gr.to[e]]++;
+			tgt[i] = gr.from[e];
+			wt[i] = gr.weights[e];
+			i = (int)cursor[gr.from[e]]++;
+			tgt[i] = gr.to[e];
+			wt[i] = gr.weights[e];
+		}
+		write(binFile, names, off, tgt, wt);
+	}
+
+	/**
+	 * Writes a graph in the binary format.
+	 *
+	 * @param graph Graph to write
+	 * @param binFile Name of the output file
+	 * @throws IOException If the file cannot be written
+	 */
+	public static void write(Graph graph, String binFile)
+	throws IOException {
+		int n = graph.vertices.length;
+		String[] names = new String[n];
+		long[] off = new long[n+1];
+		for (int v=0; v < n; v++) {
+			names[v] = graph.vertices[v].name;
+			off[v+1] = off[v];
+			for (Vertex.Neighbor nbr=graph.vertices[v].neighbors; nbr != null; nbr=nbr.next) {
+				off[v+1]++;
+			}
+		}
+		int[] tgt = new int[(int)off[n]];
+		int[] wt = new int[tgt.length];
+		int i = 0;
+		for (int v=0; v < n; v++) {
+			for (Vertex.Neighbor nbr=graph.vertices[v].neighbors; nbr != null; nbr=nbr.next) {
+				tgt[i] = nbr.vertex.id;
+				wt[i++] = nbr.weight;
+			}
+		}
+		write(binFile, names, off, tgt, wt);
+	}
+
+	private static void write(String binFile, String[] names, long[] off, int[] tgt, int[] wt)
+	throws IOException {
+		byte[][] encoded = new byte[names.length][];
+		long nameLength = 0;
+		for (int v=0; v < names.length; v++) {
+			encoded[v] = names[v].getBytes(StandardCharsets.UTF_8);
+			nameLength += encoded[v].length;
+		}
+		DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(binFile), 1 << 16));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(names.length);
+			out.writeLong(tgt.length);
+			out.writeLong(nameLength);
+			long pos = 0;
+			out.writeLong(pos);
+			for (byte[] name: encoded) {
+				pos += name.length;
+				out.writeLong(pos);
+			}
+			for (byte[] name: encoded) {
+				out.write(name);
+			}
+			for (long p=nameLength; p < pad(nameLength); p++) {
+				out.write(0);
+			}
+			for (long o: off) {
+				out.writeLong(o);
+			}
+			for (int t: tgt) {
+				out.writeInt(t);
+			}
+			for (int w: wt) {
+				out.writeInt(w);
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private static long pad(long n) {
+		return (n + 7) & ~7L;
+	}
+
+	/**
+	 * Returns the number of vertices.
+	 *
+	 * @return Number of vertices
+	 */
+	public int vertexCount() {
+		return vertexCount;
+	}
+
+	/**
+	 * Returns the number of adjacency entries, which is twice the number of edges.
+	 *
+	 * @return Number of adjacency entries
+	 */
+	public long adjacencyCount() {
+		return adjacencyCount;
+	}
+
+	/**
+	 * Returns the name of a vertex.
+	 *
+	 * @param v Vertex id
+	 * @return Name of the vertex
+	 */
+	public String name(int v) {
+		long lo = nameOffsets.getLong(v), hi = nameOffsets.getLong(v+1L);
+		byte[] b = new byte[(int)(hi - lo)];
+		nameBytes.getBytes(lo, b);
+		return new String(b, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the index of the first adjacency entry of a vertex. The entries of
+	 * vertex v run up to, but not including, start(v+1).
+	 *
+	 * @param v Vertex id, 0 to vertexCount() inclusive
+	 * @return Index of first adjacency entry
+	 */
+	public long start(int v) {
+		return offsets.getLong(v);
+	}
+
+	/**
+	 * Returns the neighbor id stored in an adjacency entry.
+	 *
+	 * @param i Index of adjacency entry
+	 * @return Neighbor vertex id
+	 */
+	public int target(long i) {
+		return targets.getInt(i);
+	}
+
+	/**
+	 * Returns the weight stored in an adjacency entry.
+	 *
+	 * @param i Index of adjacency entry
+	 * @return Edge weight
+	 */
+	public int weight(long i) {
+		return weights.getInt(i);
+	}
+
+	/**
+	 * A region of the file holding fixed-size elements, mapped in segments of
+	 * at most 1GB each since a single mapping cannot exceed 2GB.
+	 */
+	private static class Section {
+		static final int SEGMENT_SHIFT = 30;
+
+		final MappedByteBuffer[] segments;
+		final int elementShift;
+
+		Section(FileChannel channel, long pos, long count, int elementSize)
+		throws IOException {
+			elementShift = Integer.numberOfTrailingZeros(elementSize);
+			long length = count << elementShift;
+			int n = (int)((length + (1L << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT);
+			segments = new MappedByteBuffer[n];
+			for (int s=0; s < n; s++) {
+				long lo = (long)s << SEGMENT_SHIFT;
+				long size = Math.min(1L << SEGMENT_SHIFT, length - lo);
+				segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, pos + lo, size);
+			}
+		}
+
+		private int offset(long byteIndex) {
+			return (int)(byteIndex & ((1L << SEGMENT_SHIFT) - 1));
+		}
+
+		void getBytes(long i, byte[] dst) {
+			int done = 0;
+			while (done < dst.length) {
+				ByteBuffer seg = segments[(int)((i + done) >>> SEGMENT_SHIFT)].duplicate();
+				seg.position(offset(i + done));
+				int n = Math.min(dst.length - done, seg.remaining());
+				seg.get(dst, done, n);
+				done += n;
+			}
+		}
+
+		int getInt(long i) {
+			long b = i << elementShift;
+			return segments[(int)(b >>> SEGMENT_SHIFT)].getInt(offset(b));
+		}
+
+		long getLong(long i) {
+			long b = i << elementShift;
+			return segments[(int)(b >>> SEGMENT_SHIFT)].getLong(offset(b));
+		}
+	}
+}
@@ -0,0 +1,337 @@
+package structures;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk loader for the plain text graph description: the number of vertices,
+ * then the vertex names, then one "name name weight" triple per edge. Tokens
+ * are split at the byte level, and vertex names are interned into int ids in
+ * the order in which they are listed.
+ *
+ * The edge section can be parsed in parallel chunks, in which case every edge
+ * must be on a line of its own (as it is in all the sample graphs).
+ */
+public class GraphReader {
+
+	/**
+	 * Edge sections smaller than this are always parsed on a single thread.
+	 */
+	static final long MIN_PARALLEL_BYTES = 1 << 20;
+
+	/**
+	 * Vertex name -> vertex id mappings; also holds the names, indexed by id.
+	 */
+	NameInterner vertmap;
+
+	/**
+	 * Edge endpoints and weights, in input order. Only the first edgeCount
+	 * entries are valid.
+	 */
+	int[] from, to, weights;
+
+	/**
+	 * Number of edges read.
+	 */
+	int edgeCount;
+
+	/**
+	 * Time taken by the load, in nanoseconds.
+	 */
+	long elapsedNanos;
+
+	/**
+	 * Name of the file read, and offset of its edge section.
+	 */
+	String file;
+	long edgeStart;
+
+	/**
+	 * Receiver of edges streamed from a graph description.
+	 */
+	public interface EdgeSink {
+		/**
+		 * Receives one edge.
+		 *
+		 * @param v1 Id of the vertex at one end of the edge
+		 * @param v2 Id of the vertex at the other end of the edge
+		 * @param weight Weight of the edge
+		 * @throws IOException If the edge cannot be handled
+		 */
+		void edge(int v1, int v2, int weight) throws IOException;
+	}
+
+	private GraphReader() {
+	}
+
+	/**
+	 * Reads a graph description from a file.
+	 *
+	 * @param file Name of the file that has the input graph description.
+	 * @param parallel True to parse the edge section in parallel chunks
+	 * @return Reader holding the parsed graph
+	 * @throws IOException If the file cannot be read, or is malformed
+	 */
+	public static GraphReader read(String file, boolean parallel)
+	throws IOException {
+		GraphReader gr = new GraphReader();
+		long start = System.nanoTime();
+		FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			ByteTokenizer tok = new ByteTokenizer(channel, 0, size);
+			gr.readVertices(file, tok);
+			int chunks = parallel ? Runtime.getRuntime().availableProcessors() : 1;
+			if (chunks <= 1 || size - gr.edgeStart < MIN_PARALLEL_BYTES) {
+				EdgeChunk ec = new EdgeChunk(1024);
+				parseEdges(tok, gr.vertmap, ec);
+				gr.from = ec.from; gr.to = ec.to; gr.weights = ec.weights;
+				gr.edgeCount = ec.count;
+			} else {
+				gr.parseParallel(channel, gr.edgeStart, size, chunks);
+			}
+		} finally {
+			channel.close();
+		}
+		gr.elapsedNanos = System.nanoTime() - start;
+		return gr;
+	}
+
+	/**
+	 * Reads only the vertex names from a graph description, leaving the edges
+	 * on disk to be streamed with forEachEdge. A graph built from the returned
+	 * reader has all the vertices but no edges.
+	 *
+	 * @param file Name of the file that has the input graph description.
+	 * @return Reader holding the vertices
+	 * @throws IOException If the file cannot be read, or is malformed
+	 */
+	public static GraphReader readVertices(String file)
+	throws IOException {
+		GraphReader gr = new GraphReader();
+		long start = System.nanoTime();
+		FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			gr.readVertices(file, new ByteTokenizer(channel, 0, channel.size()));
+		} finally {
+			channel.close();
+		}
+		gr.from = gr.to = gr.weights = new int[0];
+		gr.edgeCount = 0;
+		gr.elapsedNanos = System.nanoTime() - start;
+		return gr;
+	}
+
+	private void readVertices(String file, ByteTokenizer tok)
+	throws IOException {
+		this.file = file;
+		if (!tok.nextToken()) {
+			throw new IOException("Empty graph file: " + file);
+		}
+		int n = tok.tokenInt();
+		vertmap = new NameInterner(n);
+		for (int v=0; v < n; v++) {
+			if (!tok.nextToken()) {
+				throw new IOException("Expected " + n + " vertex names, found " + v);
+			}
+			if (vertmap.intern(tok.token(), 0, tok.tokenLength()) != v) {
+				throw new IOException("Duplicate vertex " + tok.tokenString());
+			}
+		}
+		edgeStart = tok.position();
+	}
+
+	/**
+	 * Streams the edges of the graph from the file this reader was created from,
+	 * in input order, without holding them in memory.
+	 *
+	 * @param sink Receiver of every edge
+	 * @throws IOException If the file cannot be read, or is malformed
+	 */
+	public void forEachEdge(EdgeSink sink)
+	throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			parseEdges(new ByteTokenizer(channel, edgeStart, channel.size()), vertmap, sink);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Parses the edge section in chunks that start at line boundaries, on the
+	 * common fork/join pool, and concatenates the chunks in input order.
+	 */
+	private void parseParallel(final FileChannel channel, long start, long end, int chunks)
+	throws IOException {
+		// move every nominal boundary forward to the start of a line
+		final long[] bounds = new long[chunks+1];
+		bounds[0] = start;
+		bounds[chunks] = end;
+		for (int i=1; i < chunks; i++) {
+			ByteTokenizer tok = new ByteTokenizer(channel, start + (end-start)*i/chunks, end);
+			tok.skipLine();
+			bounds[i] = Math.max(tok.position(), bounds[i-1]);
+		}
+
+		final int guess = (int)Math.min(Integer.MAX_VALUE/4, (end-start)/chunks/8 + 16);
+		ArrayList<Future<EdgeChunk>> parts = new ArrayList<Future<EdgeChunk>>(chunks);
+		for (int i=0; i < chunks; i++) {
+			final long lo = bounds[i], hi = bounds[i+1];
+			parts.add(ForkJoinPool.commonPool().submit(new Callable<EdgeChunk>() {
+				public EdgeChunk call() throws IOException {
+					EdgeChunk ec = new EdgeChunk(guess);
+					parseEdges(new ByteTokenizer(channel, lo, hi), vertmap, ec);
+					return ec;
+				}
+			}));
+		}
+
+		EdgeChunk[] done = new EdgeChunk[chunks];
+		long total = 0;
+		try {
+			for (int i=0; i < chunks; i++) {
+				done[i] = parts.get(i).get();
+				total += done[i].count;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading graph", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException)e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+		if (total > Integer.MAX_VALUE) {
+			throw new IOException("Too many edges: " + total);
+		}
+
+		edgeCount = (int)total;
+		from = new int[edgeCount];
+		to = new int[edgeCount];
+		weights = new int[edgeCount];
+		int k = 0;
+		for (EdgeChunk ec: done) {
+			System.arraycopy(ec.from, 0, from, k, ec.count);
+			System.arraycopy(ec.to, 0, to, k, ec.count);
+			System.arraycopy(ec.weights, 0, weights, k, ec.count);
+			k += ec.count;
+		}
+	}
+
+	/**
+	 * Returns the number of vertices read.
+	 *
+	 * @return Number of vertices
+	 */
+	public int vertexCount() {
+		return vertmap.size();
+	}
+
+	/**
+	 * Returns the name of a vertex read.
+	 *
+	 * @param v Vertex id
+	 * @return Name of the vertex
+	 */
+	public String name(int v) {
+		return vertmap.name(v);
+	}
+
+	/**
+	 * Returns the number of edges read.
+	 *
+	 * @return Number of edges
+	 */
+	public int edgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * Returns the time taken to load the graph.
+	 *
+	 * @return Load time in nanoseconds
+	 */
+	public long elapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns the load throughput.
+	 *
+	 * @return Edges read per second
+	 */
+	public double edgesPerSecond() {
+		return elapsedNanos == 0 ? 0 : edgeCount * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Parses "name name weight" triples until the tokenizer runs out.
+	 */
+	private static void parseEdges(ByteTokenizer tok, NameInterner vertmap, EdgeSink sink)
+	throws IOException {
+		while (tok.nextToken()) {
+			int v1 = lookup(tok, vertmap);
+			if (!tok.nextToken()) {
+				throw new IOException("Truncated edge at offset " + tok.position());
+			}
+			int v2 = lookup(tok, vertmap);
+			if (!tok.nextToken()) {
+				throw new IOException("Truncated edge at offset " + tok.position());
+			}
+			int wt;
+			try {
+				wt = tok.tokenInt();
+			} catch (NumberFormatException e) {
+				throw new IOException("Bad edge weight at offset " + tok.position(), e);
+			}
+			sink.edge(v1, v2, wt);
+		}
+	}
+
+	private static int lookup(ByteTokenizer tok, NameInterner vertmap)
+	throws IOException {
+		// hashes the token bytes in place, so no String is made per endpoint
+		int id = vertmap.find(tok.token(), 0, tok.tokenLength());
+		if (id < 0) {
+			throw new IOException("Unknown vertex " + tok.tokenString() + " at offset " + tok.position());
+		}
+		return id;
+	}
+
+	/**
+	 * Growable arrays of edges parsed from one range of the input.
+	 */
+	private static class EdgeChunk implements EdgeSink {
+		int[] from, to, weights;
+		int count;
+
+		EdgeChunk(int cap) {
+			from = new int[cap];
+			to = new int[cap];
+			weights = new int[cap];
+		}
+
+		public void edge(int v1, int v2, int wt) {
+			if (count == from.length) {
+				int cap = count < 1<<29 ? count*2 : Integer.MAX_VALUE-8;
+				from = Arrays.copyOf(from, cap);
+				to = Arrays.copyOf(to, cap);
+				weights = Arrays.copyOf(weights, cap);
+			}
+			from[count] = v1;
+			to[count] = v2;
+			weights[count] = wt;
+			count++;
+		}
+	}
+}
@@ -0,0 +1,235 @@
+package structures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A d-ary MIN-heap of the ints 0 to n-1, each with a long priority, that can
+ * find any item's position in constant time. This allows the priority of an
+ * item already in the heap to be lowered in place (decrease-key), so the heap
+ * never holds more than one entry per item.
+ */
+public class IndexedMinHeap {
+
+	/**
+	 * Arity of the heap.
+	 */
+	private final int d;
+
+	/**
+	 * Items, in heap order.
+	 */
+	private final int[] heap;
+
+	/**
+	 * Position of every item in the heap, or -1 if it is not in the heap.
+	 */
+	private final int[] pos;
+
+	/**
+	 * Priority of every item.
+	 */
+	private final long[] keys;
+
+	/**
+	 * Number of items in the heap.
+	 */
+	private int size;
+
+	/**
+	 * Constructs an empty 4-ary heap for the items 0 to n-1.
+	 * 
+	 * @param n Number of possible items
+	 */
+	public IndexedMinHeap(int n) {
+		this(n, 4);
+	}
+
+	/**
+	 * Constructs an empty d-ary heap for the items 0 to n-1.
+	 * 
+	 * @param n Number of possible items
+	 * @param d Arity of the heap, at least 2
+	 */
+	public IndexedMinHeap(int n, int d) {
+		if (d < 2) {
+			throw new IllegalArgumentException("Arity must be at least 2: " + d);
+		}
+		this.d = d;
+		heap = new int[n];
+		pos = new int[n];
+		keys = new long[n];
+		for (int i=0; i < n; i++) {
+			pos[i] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int k) {
+		int item = heap[k];
+		long key = keys[item];
+		while (k > 0) {
+			int p = (k-1)/d;
+			if (keys[heap[p]] <= key) {
+				break;
+			}
+			heap[k] = heap[p];
+			pos[heap[k]] = k;
+			k = p;
+		}
+		heap[k] = item;
+		pos[item] = k;
+	}
+
+	private void siftDown(int k) {
+		int item = heap[k];
+		long key = keys[item];
+		for (;;) {
+			int first = d*k + 1;
+			if (first >= size) {
+				break;
+			}
+			int last = Math.min(first + d, size);
+			int min = first;
+			for (int c=first+1; c < last; c++) {
+				if (keys[heap[c]] < keys[heap[min]]) {
+					min = c;
+				}
+			}
+			if (keys[heap[min]] >= key) {
+				break;
+			}
+			heap[k] = heap[min];
+			pos[heap[k]] = k;
+			k = min;
+		}
+		heap[k] = item;
+		pos[item] = k;
+	}
+
+	/**
+	 * Inserts an item with the given priority.
+	 * 
+	 * @param item Item to insert
+	 * @param key Priority of the item
+	 * @throws IllegalArgumentException If the item is already in the heap
+	 */
+	public void insert(int item, long key) 
+	throws IllegalArgumentException {
+		if (pos[item] >= 0) {
+			throw new IllegalArgumentException("Item already in heap: " + item);
+		}
+		keys[item] = key;
+		heap[size] = item;
+		pos[item] = size;
+		siftUp(size++);
+	}
+
+	/**
+	 * Lowers the priority of an item in the heap.
+	 * 
+	 * @param item Item whose priority is lowered
+	 * @param key New priority, no greater than the current one
+	 * @throws IllegalArgumentException If the item is not in the heap, or the key is greater
+	 */
+	public void decreaseKey(int item, long key) 
+	throws IllegalArgumentException {
+		if (pos[item] < 0 || key > keys[item]) {
+			throw new IllegalArgumentException("Cannot decrease key of item " + item + " to " + key);
+		}
+		keys[item] = key;
+		siftUp(pos[item]);
+	}
+
+	/**
+	 * Inserts an item, or lowers its priority if it is already in the heap with 
+	 * a greater priority.
+	 * 
+	 * @param item Item
+	 * @param key Priority
+	 * @return True if the heap changed, false otherwise
+	 */
+	public boolean insertOrDecrease(int item, long key) {
+		if (pos[item] < 0) {
+			insert(item, key);
+			return true;
+		}
+		if (key < keys[item]) {
+			keys[item] = key;
+			siftUp(pos[item]);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes and returns the item with the min priority.
+	 * 
+	 * @return Item with min priority
+	 * @throws NoSuchElementException If the heap is empty
+	 */
+	public int deleteMin() 
+	throws NoSuchElementException {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		int min = heap[0];
+		pos[min] = -1;
+		if (--size > 0) {
+			heap[0] = heap[size];
+			siftDown(0);
+		}
+		return min;
+	}
+
+	/**
+	 * Returns (but does not remove) the item with the min priority.
+	 * 
+	 * @return Item with min priority
+	 * @throws NoSuchElementException If the heap is empty
+	 */
+	public int getMin() 
+	throws NoSuchElementException {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return heap[0];
+	}
+
+	/**
+	 * Returns the priority last given to an item.
+	 * 
+	 * @param item Item
+	 * @return Priority of the item
+	 */
+	public long key(int item) {
+		return keys[item];
+	}
+
+	/**
+	 * Tells if an item is in the heap.
+	 * 
+	 * @param item Item
+	 * @return True if the item is in the heap
+	 */
+	public boolean contains(int item) {
+		return pos[item] >= 0;
+	}
+
+	/**
+	 * Returns the number of items currently stored in the heap.
+	 * 
+	 * @return Size of heap.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tells if the heap is empty. 
+	 * 
+	 * @return <tt>true</tt> if no items are in heap, <tt>false</tt> otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
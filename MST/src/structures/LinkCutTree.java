@@ -0,0 +1,278 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * A forest of rooted trees over int nodes, each carrying an int value, kept as
+ * link-cut trees (Sleator and Tarjan): every preferred path is a splay tree, so
+ * link, cut, connectivity and path-maximum queries take amortized O(log n).
+ * Trees are unrooted from the caller's point of view; any node can be made the
+ * root with makeRoot.
+ */
+public class LinkCutTree {
+
+	/**
+	 * Splay tree links: left child, right child and parent (or path-parent) of
+	 * every node, -1 for none.
+	 */
+	private int[] left, right, parent;
+
+	/**
+	 * Pending reversal of the subtree of every node.
+	 */
+	private boolean[] reversed;
+
+	/**
+	 * Value of every node, and node with the max value in its splay subtree.
+	 */
+	private int[] value, max;
+
+	/**
+	 * Number of nodes.
+	 */
+	private int size;
+
+	/**
+	 * Scratch stack for pushing reversals down before a splay.
+	 */
+	private int[] stack;
+
+	/**
+	 * Constructs an empty forest.
+	 * 
+	 * @param cap Initial node capacity
+	 */
+	public LinkCutTree(int cap) {
+		cap = Math.max(cap, 16);
+		left = new int[cap];
+		right = new int[cap];
+		parent = new int[cap];
+		reversed = new boolean[cap];
+		value = new int[cap];
+		max = new int[cap];
+		stack = new int[cap];
+		size = 0;
+	}
+
+	/**
+	 * Adds a node with no links.
+	 * 
+	 * @param val Value of the node
+	 * @return Id of the new node
+	 */
+	public int addNode(int val) {
+		if (size == left.length) {
+			int cap = size*2;
+			left = Arrays.copyOf(left, cap);
+			right = Arrays.copyOf(right, cap);
+			parent = Arrays.copyOf(parent, cap);
+			reversed = Arrays.copyOf(reversed, cap);
+			value = Arrays.copyOf(value, cap);
+			max = Arrays.copyOf(max, cap);
+			stack = new int[cap];
+		}
+		int x = size++;
+		left[x] = right[x] = parent[x] = -1;
+		reversed[x] = false;
+		value[x] = val;
+		max[x] = x;
+		return x;
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 * 
+	 * @return Number of nodes
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the value of a node.
+	 * 
+	 * @param x Node
+	 * @return Value of x
+	 */
+	public int value(int x) {
+		return value[x];
+	}
+
+	/**
+	 * Changes the value of a node.
+	 * 
+	 * @param x Node
+	 * @param val New value
+	 */
+	public void setValue(int x, int val) {
+		access(x);
+		value[x] = val;
+		update(x);
+	}
+
+	private boolean isSplayRoot(int x) {
+		int p = parent[x];
+		return p < 0 || (left[p] != x && right[p] != x);
+	}
+
+	private void push(int x) {
+		if (reversed[x]) {
+			int t = left[x]; left[x] = right[x]; right[x] = t;
+			if (left[x] >= 0) reversed[left[x]] ^= true;
+			if (right[x] >= 0) reversed[right[x]] ^= true;
+			reversed[x] = false;
+		}
+	}
+
+	private void update(int x) {
+		int m = x;
+		if (left[x] >= 0 && value[max[left[x]]] > value[m]) m = max[left[x]];
+		if (right[x] >= 0 && value[max[right[x]]] > value[m]) m = max[right[x]];
+		max[x] = m;
+	}
+
+	private void rotate(int x) {
+		int y = parent[x], z = parent[y];
+		if (!isSplayRoot(y)) {
+			if (left[z] == y) left[z] = x; else right[z] = x;
+		}
+		parent[x] = z;
+		if (left[y] == x) {
+			left[y] = right[x];
+			if (left[y] >= 0) parent[left[y]] = y;
+			right[x] = y;
+		} else {
+			right[y] = left[x];
+			if (right[y] >= 0) parent[right[y]] = y;
+			left[x] = y;
+		}
+		parent[y] = x;
+		update(y);
+		update(x);
+	}
+
+	private void splay(int x) {
+		// push pending reversals from the splay root down to x
+		int top = 0;
+		stack[top++] = x;
+		for (int y=x; !isSplayRoot(y); y=parent[y]) {
+			stack[top++] = parent[y];
+		}
+		while (top > 0) {
+			push(stack[--top]);
+		}
+		while (!isSplayRoot(x)) {
+			int y = parent[x];
+			if (!isSplayRoot(y)) {
+				int z = parent[y];
+				rotate((left[y] == x) == (left[z] == y) ? y : x);
+			}
+			rotate(x);
+		}
+	}
+
+	/**
+	 * Makes the path from the root of x's tree to x preferred, and splays x to
+	 * the root of its splay tree.
+	 */
+	private void access(int x) {
+		int last = -1;
+		for (int y=x; y >= 0; y=parent[y]) {
+			splay(y);
+			right[y] = last;
+			update(y);
+			last = y;
+		}
+		splay(x);
+	}
+
+	/**
+	 * Makes a node the root of its tree.
+	 * 
+	 * @param x Node
+	 */
+	public void makeRoot(int x) {
+		access(x);
+		reversed[x] ^= true;
+		push(x);
+	}
+
+	/**
+	 * Finds the root of the tree containing a node.
+	 * 
+	 * @param x Node
+	 * @return Root of x's tree
+	 */
+	public int findRoot(int x) {
+		access(x);
+		for (;;) {
+			push(x);
+			if (left[x] < 0) {
+				break;
+			}
+			x = left[x];
+		}
+		splay(x);
+		return x;
+	}
+
+	/**
+	 * Tells if two nodes are in the same tree.
+	 * 
+	 * @param x Node
+	 * @param y Node
+	 * @return True if there is a path between x and y
+	 */
+	public boolean connected(int x, int y) {
+		return x == y || findRoot(x) == findRoot(y);
+	}
+
+	/**
+	 * Links two nodes in different trees with a tree edge.
+	 * 
+	 * @param x Node
+	 * @param y Node
+	 * @throws IllegalArgumentException If x and y are already in the same tree
+	 */
+	public void link(int x, int y) 
+	throws IllegalArgumentException {
+		makeRoot(x);
+		if (findRoot(y) == x) {
+			throw new IllegalArgumentException("Nodes " + x + " and " + y + " are already connected");
+		}
+		parent[x] = y;
+	}
+
+	/**
+	 * Removes the tree edge between two adjacent nodes.
+	 * 
+	 * @param x Node
+	 * @param y Node
+	 * @throws IllegalArgumentException If there is no tree edge between x and y
+	 */
+	public void cut(int x, int y) 
+	throws IllegalArgumentException {
+		makeRoot(x);
+		access(y);
+		// the path is now x..y with y at the splay root, so x must be y's only left node
+		if (left[y] != x || right[x] >= 0 || left[x] >= 0) {
+			throw new IllegalArgumentException("Nodes " + x + " and " + y + " are not adjacent");
+		}
+		left[y] = -1;
+		parent[x] = -1;
+		update(y);
+	}
+
+	/**
+	 * Finds the node with the max value on the tree path between two nodes.
+	 * 
+	 * @param x Node
+	 * @param y Node in the same tree as x
+	 * @return Node with max value on the path from x to y, inclusive
+	 */
+	public int pathMax(int x, int y) {
+		makeRoot(x);
+		access(y);
+		return max[y];
+	}
+}
@@ -0,0 +1,158 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implements a MIN-heap of primitive longs, stored in a single array so that no
+ * object is allocated per item.
+ */
+public class LongMinHeap {
+
+	private long[] items;
+
+	private int size;
+
+	/**
+	 * Constructs a new, empty heap with an initial capacity of 10
+	 */
+	public LongMinHeap() {
+		this(10);
+	}
+
+	/**
+	 * Constructs a new, empty heap with the specified initial capacity.
+	 *
+	 * @param cap Initial capacity of the heap.
+	 */
+	public LongMinHeap(int cap) {
+		items = new long[Math.max(cap, 1)];
+		size = 0;
+	}
+
+	private void ensureCapacity(int cap) {
+		if (cap > items.length) {
+			items = Arrays.copyOf(items, Math.max(cap, items.length*2));
+		}
+	}
+
+	private void siftUp(int k) {
+		long item = items[k];
+		while (k > 0) {
+			int p = (k-1)/2;
+			if (items[p] <= item) {
+				break;
+			}
+			items[k] = items[p];
+			k = p;
+		}
+		items[k] = item;
+	}
+
+	private void siftDown(int k) {
+		long item = items[k];
+		while (2*k+1 < size) {
+			int minIndex = 2*k+1;
+			if (minIndex+1 < size && items[minIndex+1] < items[minIndex]) {
+				minIndex++;
+			}
+			if (items[minIndex] >= item) {
+				break;
+			}
+			items[k] = items[minIndex];
+			k = minIndex;
+		}
+		items[k] = item;
+	}
+
+	/**
+	 * Inserts an item into the heap.
+	 * 
+	 * @param item Item to insert.
+	 */
+	public void insert(long item) {
+		ensureCapacity(size+1);
+		items[size] = item;
+		siftUp(size++);
+	}
+
+	/**
+	 * Removes and returns the min item in the heap.
+	 * 
+	 * @return Item (min) at top of heap.
+	 * @throws NoSuchElementException If the heap is empty.
+	 */
+	public long deleteMin() 
+	throws NoSuchElementException {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		long minItem = items[0];
+		if (--size > 0) {
+			items[0] = items[size];
+			siftDown(0);
+		}
+		return minItem;
+	}
+
+	/**
+	 * Merges another heap into this one (i.e., all items in the other heap
+	 * are added to this one).
+	 * 
+	 * @param hp Heap whose elements will be merged into this heap.
+	 */
+	public void merge(LongMinHeap hp) {
+		ensureCapacity(size + hp.size);
+		System.arraycopy(hp.items, 0, items, size, hp.size);
+		size += hp.size;
+		// bottom-up build heap, starting from "last" non-leaf node
+		for (int k=size/2-1; k >= 0; k--) {
+			siftDown(k);
+		}
+	}
+
+	/**
+	 * Returns (but does not remove) the min item in the heap.
+	 * 
+	 * @return Item at top of heap.
+	 * @throws NoSuchElementException If heap is empty.
+	 */
+	public long getMin() 
+	throws NoSuchElementException {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		return items[0];
+	}
+
+	/**
+	 * Returns the item at a given position in heap order.
+	 * 
+	 * @param i Position, 0 to size()-1
+	 * @return Item at position i
+	 */
+	public long get(int i) {
+		if (i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		return items[i];
+	}
+
+	/**
+	 * Returns the number of items currently stored in the heap.
+	 * 
+	 * @return Size of heap.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tells if the heap is empty. 
+	 * 
+	 * @return <tt>true</tt> if no items are in heap, <tt>false</tt> otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
@@ -167,10 +167,10 @@ public class MinHeap<T extends Comparable<T>> implements Iterable<T> {
     }
     
     public String toString() {
-    	String ret = "";
+    	StringBuilder ret = new StringBuilder();
     	for (T item: items) {
-    		ret += "  " + item;
+    		ret.append("  ").append(item);
     	}
-    	return ret;
+    	return ret.toString();
     }
 }
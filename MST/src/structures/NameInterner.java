@@ -0,0 +1,222 @@
+package structures;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps vertex names to dense int ids 0, 1, 2, ... in the order they are first
+ * interned. Names are kept as UTF-8 bytes packed end to end in one array, and
+ * looked up in an open-addressing (linear probing) table of int ids, so there is
+ * no per-name object and no boxing. Lookups can be made straight from bytes,
+ * without creating a String.
+ * 
+ * Lookups may run from many threads at once, provided no names are being added.
+ */
+public class NameInterner {
+
+	/**
+	 * Marks an empty slot in the table.
+	 */
+	private static final int EMPTY = -1;
+
+	/**
+	 * All name bytes, end to end.
+	 */
+	private byte[] bytes;
+
+	/**
+	 * Start of every name in bytes, indexed by id; offset[size] is the end of the last.
+	 */
+	private int[] offset;
+
+	/**
+	 * Hash of every name, indexed by id.
+	 */
+	private int[] hash;
+
+	/**
+	 * Open-addressing table of ids; its length is a power of 2.
+	 */
+	private int[] table;
+
+	/**
+	 * Number of names.
+	 */
+	private int size;
+
+	/**
+	 * Constructs an empty interner sized for the expected number of names.
+	 * 
+	 * @param expected Expected number of names
+	 */
+	public NameInterner(int expected) {
+		expected = Math.max(expected, 4);
+		bytes = new byte[expected*4];
+		offset = new int[expected+1];
+		hash = new int[expected];
+		table = new int[tableSize(expected)];
+		Arrays.fill(table, EMPTY);
+		size = 0;
+	}
+
+	/**
+	 * Smallest power of 2 that keeps the load factor at or below 1/2.
+	 */
+	private static int tableSize(int n) {
+		return Integer.highestOneBit(Math.max(n, 2) * 2 - 1) << 1;
+	}
+
+	private static int hash(byte[] b, int off, int len) {
+		int h = 0x811c9dc5;
+		for (int i=off; i < off+len; i++) {
+			h = (h ^ b[i]) * 0x01000193;
+		}
+		// spread the bits, since the table index uses the low ones
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		return h;
+	}
+
+	private boolean matches(int id, byte[] b, int off, int len) {
+		int start = offset[id];
+		if (offset[id+1] - start != len) {
+			return false;
+		}
+		for (int i=0; i < len; i++) {
+			if (bytes[start+i] != b[off+i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the slot holding a name, or the empty slot where it would go.
+	 */
+	private int slot(int h, byte[] b, int off, int len) {
+		int mask = table.length - 1;
+		for (int s = h & mask; ; s = (s+1) & mask) {
+			int id = table[s];
+			if (id == EMPTY || (hash[id] == h && matches(id, b, off, len))) {
+				return s;
+			}
+		}
+	}
+
+	/**
+	 * Finds the id of a name given as UTF-8 bytes.
+	 * 
+	 * @param b Array holding the name
+	 * @param off Start of the name in the array
+	 * @param len Length of the name in bytes
+	 * @return Id of the name, or -1 if it has not been interned
+	 */
+	public int find(byte[] b, int off, int len) {
+		return table[slot(hash(b, off, len), b, off, len)];
+	}
+
+	/**
+	 * Finds the id of a name.
+	 * 
+	 * @param name Name
+	 * @return Id of the name, or -1 if it has not been interned
+	 */
+	public int find(String name) {
+		byte[] b = name.getBytes(StandardCharsets.UTF_8);
+		return find(b, 0, b.length);
+	}
+
+	/**
+	 * Interns a name given as UTF-8 bytes.
+	 * 
+	 * @param b Array holding the name
+	 * @param off Start of the name in the array
+	 * @param len Length of the name in bytes
+	 * @return Id of the name - a new id if it was not already interned
+	 */
+	public int intern(byte[] b, int off, int len) {
+		int h = hash(b, off, len);
+		int s = slot(h, b, off, len);
+		if (table[s] != EMPTY) {
+			return table[s];
+		}
+		if (size == hash.length) {
+			int cap = size*2;
+			offset = Arrays.copyOf(offset, cap+1);
+			hash = Arrays.copyOf(hash, cap);
+		}
+		int end = offset[size];
+		if (end + len > bytes.length) {
+			long cap = Math.max((long)bytes.length*2, (long)end + len);
+			if (cap > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("Too many name bytes: " + cap);
+			}
+			bytes = Arrays.copyOf(bytes, (int)cap);
+		}
+		System.arraycopy(b, off, bytes, end, len);
+		int id = size++;
+		offset[size] = end + len;
+		hash[id] = h;
+		table[s] = id;
+		if (size*2 > table.length) {
+			rehash();
+		}
+		return id;
+	}
+
+	/**
+	 * Interns a name.
+	 * 
+	 * @param name Name
+	 * @return Id of the name - a new id if it was not already interned
+	 */
+	public int intern(String name) {
+		byte[] b = name.getBytes(StandardCharsets.UTF_8);
+		return intern(b, 0, b.length);
+	}
+
+	private void rehash() {
+		table = new int[table.length*2];
+		Arrays.fill(table, EMPTY);
+		int mask = table.length - 1;
+		for (int id=0; id < size; id++) {
+			int s = hash[id] & mask;
+			while (table[s] != EMPTY) {
+				s = (s+1) & mask;
+			}
+			table[s] = id;
+		}
+	}
+
+	/**
+	 * Returns the name with a given id.
+	 * 
+	 * @param id Id of the name
+	 * @return Name
+	 */
+	public String name(int id) {
+		if (id < 0 || id >= size) {
+			throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + size);
+		}
+		return new String(bytes, offset[id], offset[id+1] - offset[id], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the number of names interned.
+	 * 
+	 * @return Number of names
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the approximate number of bytes of heap held by this interner.
+	 * 
+	 * @return Heap footprint in bytes
+	 */
+	public long footprint() {
+		return 16L*4 + bytes.length + 4L*(offset.length + hash.length + table.length);
+	}
+}
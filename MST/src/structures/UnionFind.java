@@ -0,0 +1,90 @@
+package structures;
+
+/**
+ * Disjoint sets over the ints 0 to n-1, stored in a single parent array.
+ * Uses union by size and path halving.
+ */
+public class UnionFind {
+
+	/**
+	 * Parent of every element; roots store the negated size of their set.
+	 */
+	private final int[] parent;
+
+	/**
+	 * Number of disjoint sets.
+	 */
+	private int sets;
+
+	/**
+	 * Initializes n singleton sets.
+	 * 
+	 * @param n Number of elements
+	 */
+	public UnionFind(int n) {
+		parent = new int[n];
+		for (int i=0; i < n; i++) {
+			parent[i] = -1;
+		}
+		sets = n;
+	}
+
+	/**
+	 * Finds the representative of the set containing an element.
+	 * 
+	 * @param x Element
+	 * @return Representative of x's set
+	 */
+	public int find(int x) {
+		while (parent[x] >= 0) {
+			int p = parent[x];
+			if (parent[p] >= 0) {
+				// path halving
+				parent[x] = parent[p];
+			}
+			x = p;
+		}
+		return x;
+	}
+
+	/**
+	 * Merges the sets containing two elements.
+	 * 
+	 * @param x Element
+	 * @param y Element
+	 * @return True if the elements were in different sets, false otherwise
+	 */
+	public boolean union(int x, int y) {
+		x = find(x);
+		y = find(y);
+		if (x == y) {
+			return false;
+		}
+		if (parent[x] > parent[y]) {
+			// x is the smaller set
+			int t = x; x = y; y = t;
+		}
+		parent[x] += parent[y];
+		parent[y] = x;
+		sets--;
+		return true;
+	}
+
+	/**
+	 * Returns the number of disjoint sets.
+	 * 
+	 * @return Number of sets
+	 */
+	public int sets() {
+		return sets;
+	}
+
+	/**
+	 * Returns the number of elements.
+	 * 
+	 * @return Number of elements
+	 */
+	public int size() {
+		return parent.length;
+	}
+}
@@ -44,6 +44,11 @@ public class Vertex {
      */
     public String name;
 
+    /**
+     * Number of this vertex, i.e. its position in the graph's vertex array.
+     */
+    public int id;
+
     /**
      * Adjacency linked list of all neighbors.
      */
@@ -64,9 +69,11 @@ public class Vertex {
      * no outgoing edges), and no parent vertex (i.e., it is its own partial
      * spanning tree).
      * @param name Name to give to this vertex.
+     * @param id Number of this vertex in the graph.
      */
-    Vertex(String name) {
+    Vertex(String name, int id) {
     	this.name = name;
+    	this.id = id;
     	neighbors = null;
     	parent = this;
     }
@@ -0,0 +1,402 @@
+package apps;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import structures.RadixSort;
+
+/**
+ * Array-based alternative to Radixsort. Every item is parsed once into a numeric
+ * key, and the keys are sorted with counting LSD passes over contiguous arrays,
+ * moving (key, item index) pairs back and forth between two buffers. No nodes are
+ * created and no digit is extracted from a string more than once.
+ *
+ * Keys that fit in a long are sorted 8, 11 or 16 bits per pass (see
+ * RadixSort.digitBits), so the number of passes depends on the magnitude of the
+ * keys and not on the radix. If any item
+ * is too large for a long, all items are kept as arrays of digit values instead,
+ * and sorted one digit in the input radix per pass, like Radixsort.
+ *
+ * Results come out in the same order as Radixsort.sort: ascending numeric value,
+ * with items of equal value in input order.
+ *
+ * In parallel mode the items are split into one chunk per worker thread. For
+ * each pass, every chunk builds a digit histogram of its own keys; a prefix sum
+ * over (digit, chunk) then gives every chunk its own write position in each
+ * bucket, and all chunks scatter into the shared output array at the same time.
+ * Chunks keep their order within a bucket, so the sort stays stable.
+ */
+public class ArrayRadixsort {
+
+	/**
+	 * Inputs smaller than this many items per worker are sorted on one thread.
+	 */
+	static final int MIN_PARALLEL_CHUNK = 1 << 15;
+
+	/**
+	 * The sort radix, defaults to 10.
+	 */
+	int radix = 10;
+
+	/**
+	 * Sorts the items in the input, in the same format as read by Radixsort.sort:
+	 * the radix on the first line, then one number per line.
+	 *
+	 * @param sc Scanner that points to the input file of radix + items to be sorted
+	 * @return Items in ascending order, or null if the input is empty
+	 * @throws IOException If there is an exception in reading the input file
+	 */
+	public String[] sort(Scanner sc) throws IOException {
+		if (!sc.hasNext()) {
+			return null;
+		}
+		radix = sc.nextInt();
+		sc.nextLine();
+		ArrayList<String> items = new ArrayList<String>();
+		while (sc.hasNext()) {
+			items.add(sc.nextLine());
+		}
+		return sort(items.toArray(new String[items.size()]), radix);
+	}
+
+	/**
+	 * Sorts the items read by a RadixReader, which has already read the radix.
+	 *
+	 * @param in Reader positioned after the radix line
+	 * @return Items in ascending order
+	 * @throws IOException If there is an exception in reading the input, or an item is invalid
+	 */
+	public String[] sort(RadixReader in) throws IOException {
+		radix = in.radix();
+		return sort(in.readAll(), radix);
+	}
+
+	/**
+	 * Sorts numbers given as strings in some radix.
+	 *
+	 * @param items Numbers to sort, each a string of digits in the radix
+	 * @param radix Radix, from Character.MIN_RADIX to Character.MAX_RADIX
+	 * @return New array with the items in ascending order
+	 * @throws IllegalArgumentException If an item has a character that is not a digit in the radix
+	 */
+	public static String[] sort(String[] items, int radix) {
+		return sort(items, radix, null);
+	}
+
+	/**
+	 * Sorts numbers given as strings in some radix, optionally in parallel on the
+	 * common fork/join pool.
+	 *
+	 * @param items Numbers to sort, each a string of digits in the radix
+	 * @param radix Radix, from Character.MIN_RADIX to Character.MAX_RADIX
+	 * @param parallel True to sort in parallel
+	 * @return New array with the items in ascending order
+	 * @throws IllegalArgumentException If an item has a character that is not a digit in the radix
+	 */
+	public static String[] sort(String[] items, int radix, boolean parallel) {
+		return sort(items, radix, parallel ? ForkJoinPool.commonPool() : null);
+	}
+
+	/**
+	 * Sorts numbers given as strings in some radix, in parallel on a given pool.
+	 *
+	 * @param items Numbers to sort, each a string of digits in the radix
+	 * @param radix Radix, from Character.MIN_RADIX to Character.MAX_RADIX
+	 * @param pool Pool to sort on, or null to sort on the calling thread
+	 * @return New array with the items in ascending order
+	 * @throws IllegalArgumentException If an item has a character that is not a digit in the radix
+	 */
+	public static String[] sort(final String[] items, final int radix, ForkJoinPool pool) {
+		if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+			throw new IllegalArgumentException("Unsupported radix " + radix);
+		}
+		int n = items.length;
+		final int chunks = chunks(n, pool);
+		if (chunks <= 1) {
+			int[] order = new int[n];
+			for (int i=0; i < n; i++) {
+				order[i] = i;
+			}
+			long[] keys = parse(items, radix, 0, n, new long[n]);
+			if (keys != null) {
+				RadixSort.sort(keys, order);
+			} else {
+				sortByDigits(digits(items, radix), radix, order);
+			}
+			String[] sorted = new String[n];
+			for (int i=0; i < n; i++) {
+				sorted[i] = items[order[i]];
+			}
+			return sorted;
+		}
+
+		final int[] order = new int[n];
+		final long[] keys = new long[n];
+		final boolean[] overflow = new boolean[1];
+		forEachChunk(pool, chunks, new Chunk() {
+			public void run(int c, int lo, int hi) {
+				for (int i=lo; i < hi; i++) {
+					order[i] = i;
+				}
+				if (parse(items, radix, lo, hi, keys) == null) {
+					overflow[0] = true;
+				}
+			}
+		}, n);
+		if (!overflow[0]) {
+			sortByKey(keys, order, pool, chunks);
+		} else {
+			// arbitrary-length items are rare enough to sort on one thread
+			sortByDigits(digits(items, radix), radix, order);
+		}
+		final String[] sorted = new String[n];
+		forEachChunk(pool, chunks, new Chunk() {
+			public void run(int c, int lo, int hi) {
+				for (int i=lo; i < hi; i++) {
+					sorted[i] = items[order[i]];
+				}
+			}
+		}, n);
+		return sorted;
+	}
+
+	/**
+	 * Number of chunks to split n items into on a pool; 1 to work sequentially.
+	 */
+	static int chunks(int n, ForkJoinPool pool) {
+		if (pool == null) {
+			return 1;
+		}
+		return Math.max(1, Math.min(pool.getParallelism(), n / MIN_PARALLEL_CHUNK));
+	}
+
+	/**
+	 * Work on one chunk [lo, hi) of the items.
+	 */
+	interface Chunk {
+		void run(int chunk, int lo, int hi);
+	}
+
+	/**
+	 * Runs a piece of work on every chunk of [0, n) on a pool, and waits for all of
+	 * them, rethrowing the first unchecked exception thrown by any chunk.
+	 */
+	static void forEachChunk(ForkJoinPool pool, int chunks, final Chunk body, int n) {
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(chunks);
+		for (int c=0; c < chunks; c++) {
+			final int chunk = c;
+			final int lo = (int)((long)n * c / chunks), hi = (int)((long)n * (c+1) / chunks);
+			tasks.add(new Callable<Void>() {
+				public Void call() {
+					body.run(chunk, lo, hi);
+					return null;
+				}
+			});
+		}
+		for (Future<Void> f: pool.invokeAll(tasks)) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while sorting", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of a digit, throwing if it is not a digit in the radix.
+	 */
+	static int digit(String item, int pos, int radix) {
+		int d = Character.digit(item.charAt(pos), radix);
+		if (d < 0) {
+			throw new IllegalArgumentException("Invalid digit '" + item.charAt(pos) +
+					"' for radix " + radix + " in item \"" + item + "\"");
+		}
+		return d;
+	}
+
+	/**
+	 * Parses the items [lo, hi) into longs, stored at the same positions in keys.
+	 *
+	 * @return Keys, or null if some item does not fit in a long
+	 */
+	static long[] parse(String[] items, int radix, int lo, int hi, long[] keys) {
+		long limit = Long.MAX_VALUE / radix;
+		for (int i=lo; i < hi; i++) {
+			String item = items[i];
+			long value = 0;
+			for (int j=0; j < item.length(); j++) {
+				int d = digit(item, j, radix);
+				if (value > limit || value*radix > Long.MAX_VALUE - d) {
+					return null;
+				}
+				value = value*radix + d;
+			}
+			keys[i] = value;
+		}
+		return keys;
+	}
+
+	/**
+	 * Sorts non-negative keys in ascending order, applying the same moves to a
+	 * parallel array of item indexes, with the keys split into chunks on a pool.
+	 * The sort is stable.
+	 *
+	 * @param keys Keys, sorted in place
+	 * @param order Item indexes, permuted along with the keys
+	 * @param pool Pool to sort on
+	 * @param chunks Number of chunks, at least 2
+	 */
+	static void sortByKey(long[] keys, int[] order, ForkJoinPool pool, final int chunks) {
+		final int n = keys.length;
+		final long[] diffs = new long[chunks];
+		final long[] in = keys;
+		forEachChunk(pool, chunks, new Chunk() {
+			public void run(int c, int lo, int hi) {
+				long d = 0, first = in[0];
+				for (int i=lo; i < hi; i++) {
+					d |= in[i] ^ first;
+				}
+				diffs[c] = d;
+			}
+		}, n);
+		long diff = 0;
+		for (long d: diffs) {
+			diff |= d;
+		}
+		if (diff == 0) {
+			return;
+		}
+		// only the bits from the lowest to the highest that vary need sorting
+		int low = Long.numberOfTrailingZeros(diff);
+		int span = 64 - Long.numberOfLeadingZeros(diff) - low;
+		int bits = RadixSort.digitBits(n, span);
+		int passes = (span + bits - 1) / bits;
+		final int buckets = 1 << bits, mask = buckets - 1;
+
+		// count[c][b] is first the number of keys with digit b in chunk c, then where chunk c writes them
+		final int[][] count = new int[chunks][buckets];
+		long[] keys2 = new long[n];
+		int[] order2 = new int[n];
+		long[] srcKeys = keys, dstKeys = keys2;
+		int[] srcOrder = order, dstOrder = order2;
+		for (int p=0; p < passes; p++) {
+			final int shift = low + p*bits;
+			final long[] sk = srcKeys, dk = dstKeys;
+			final int[] so = srcOrder, dOrd = dstOrder;
+			forEachChunk(pool, chunks, new Chunk() {
+				public void run(int c, int lo, int hi) {
+					int[] h = count[c];
+					Arrays.fill(h, 0);
+					for (int i=lo; i < hi; i++) {
+						h[(int)(sk[i] >>> shift) & mask]++;
+					}
+				}
+			}, n);
+			int sum = 0;
+			boolean trivial = false;
+			for (int b=0; b < buckets; b++) {
+				int total = 0;
+				for (int c=0; c < chunks; c++) {
+					int t = count[c][b];
+					count[c][b] = sum;
+					sum += t;
+					total += t;
+				}
+				trivial |= total == n;
+			}
+			// a pass where every key has the same digit would move nothing
+			if (trivial) {
+				continue;
+			}
+			forEachChunk(pool, chunks, new Chunk() {
+				public void run(int c, int lo, int hi) {
+					int[] pos = count[c];
+					for (int i=lo; i < hi; i++) {
+						long k = sk[i];
+						int j = pos[(int)(k >>> shift) & mask]++;
+						dk[j] = k;
+						dOrd[j] = so[i];
+					}
+				}
+			}, n);
+			long[] tk = srcKeys; srcKeys = dstKeys; dstKeys = tk;
+			int[] to = srcOrder; srcOrder = dstOrder; dstOrder = to;
+		}
+		if (srcKeys != keys) {
+			System.arraycopy(srcKeys, 0, keys, 0, n);
+			System.arraycopy(srcOrder, 0, order, 0, n);
+		}
+	}
+
+	/**
+	 * Converts every item into an array of digit values, most significant first.
+	 */
+	static byte[][] digits(String[] items, int radix) {
+		byte[][] digits = new byte[items.length][];
+		for (int i=0; i < items.length; i++) {
+			String item = items[i];
+			byte[] d = new byte[item.length()];
+			for (int j=0; j < d.length; j++) {
+				d[j] = (byte)digit(item, j, radix);
+			}
+			digits[i] = d;
+		}
+		return digits;
+	}
+
+	/**
+	 * Sorts item indexes by the numbers in digit arrays, one digit in the radix per
+	 * pass, starting with the rightmost. Missing digits on the left count as 0.
+	 * The sort is stable.
+	 *
+	 * @param digits Digit values of every item, most significant first
+	 * @param radix Radix of the digits
+	 * @param order Item indexes, sorted in place
+	 */
+	static void sortByDigits(byte[][] digits, int radix, int[] order) {
+		int n = order.length;
+		int maxDigits = 0;
+		for (byte[] d: digits) {
+			maxDigits = Math.max(maxDigits, d.length);
+		}
+		int[] count = new int[radix];
+		int[] src = order, dst = new int[n];
+		for (int pass=0; pass < maxDigits; pass++) {
+			Arrays.fill(count, 0);
+			for (int i=0; i < n; i++) {
+				count[digitAt(digits[src[i]], pass)]++;
+			}
+			for (int b=0, sum=0; b < radix; b++) {
+				int t = count[b];
+				count[b] = sum;
+				sum += t;
+			}
+			for (int i=0; i < n; i++) {
+				int item = src[i];
+				dst[count[digitAt(digits[item], pass)]++] = item;
+			}
+			int[] t = src; src = dst; dst = t;
+		}
+		if (src != order) {
+			System.arraycopy(src, 0, order, 0, n);
+		}
+	}
+
+	private static int digitAt(byte[] d, int pass) {
+		int pos = d.length - pass - 1;
+		return pos < 0 ? 0 : d[pos];
+	}
+}
@@ -0,0 +1,252 @@
+package apps;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Scanner;
+
+/**
+ * Radix sort for inputs that do not fit in memory. The input, in the same format
+ * as read by Radixsort.sort, is streamed through a RadixReader in chunks of a
+ * bounded number of items; each chunk is sorted with ArrayRadixsort and written
+ * to a temporary run file, and the runs are merged (in several passes if there are too many to open at
+ * once) into the output file, one item per line. Memory use depends only on the
+ * chunk size and the number of runs merged at once.
+ *
+ * Results come out in the same order as Radixsort.sort: ascending numeric value,
+ * with items of equal value in input order.
+ */
+public class ExternalRadixsort {
+
+	/**
+	 * Default number of items sorted in memory at a time.
+	 */
+	public static final int DEFAULT_CHUNK = 1 << 20;
+
+	/**
+	 * Max number of runs merged at once.
+	 */
+	static final int FAN_IN = 64;
+
+	/**
+	 * Read buffer size for each run file.
+	 */
+	static final int RUN_BUFFER = 1 << 16;
+
+	public static void main(String[] args)
+	throws IOException {
+
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter input file name: ");
+		String inFile = sysin.next();
+		System.out.print("Enter output file name: ");
+		String outFile = sysin.next();
+		System.out.print("Enter number of items to sort in memory at a time: ");
+		int chunk = sysin.nextInt();
+
+		long start = System.nanoTime();
+		long n = sort(inFile, outFile, chunk, null);
+		System.out.println("Sorted " + n + " items in " + (System.nanoTime() - start)/1000000 + " ms");
+	}
+
+	/**
+	 * Sorts the items in an input file into an output file, sorting at most
+	 * DEFAULT_CHUNK items in memory at a time.
+	 *
+	 * @param inFile Name of the input file: the radix, then one number per line
+	 * @param outFile Name of the output file, which gets the sorted numbers one per line
+	 * @return Number of items sorted
+	 * @throws IOException If the input cannot be read or the output cannot be written
+	 */
+	public static long sort(String inFile, String outFile)
+	throws IOException {
+		return sort(inFile, outFile, DEFAULT_CHUNK, null);
+	}
+
+	/**
+	 * Sorts the items in an input file into an output file.
+	 *
+	 * @param inFile Name of the input file: the radix, then one number per line
+	 * @param outFile Name of the output file, which gets the sorted numbers one per line
+	 * @param chunk Max number of items sorted in memory at a time
+	 * @param tempDir Directory for the run files, or null for the system default
+	 * @return Number of items sorted
+	 * @throws IOException If the input cannot be read or has an invalid item, or the output cannot be written
+	 */
+	public static long sort(String inFile, String outFile, int chunk, File tempDir)
+	throws IOException {
+		chunk = Math.max(chunk, 1);
+		ArrayList<File> runs = new ArrayList<File>();
+		ArrayList<File> merged = new ArrayList<File>();
+		long count = 0;
+		int radix;
+		try {
+			RadixReader in = RadixReader.open(inFile);
+			try {
+				radix = in.radix();
+				ArrayList<String> items = new ArrayList<String>();
+				for (String item = in.next(); item != null; item = in.next()) {
+					items.add(item);
+					if (items.size() == chunk) {
+						count += items.size();
+						runs.add(writeRun(ArrayRadixsort.sort(items.toArray(new String[items.size()]), radix), tempDir));
+						items.clear();
+					}
+				}
+				if (!items.isEmpty()) {
+					count += items.size();
+					runs.add(writeRun(ArrayRadixsort.sort(items.toArray(new String[items.size()]), radix), tempDir));
+				}
+			} finally {
+				in.close();
+			}
+
+			// cut the number of runs down until they can all be merged at once;
+			// every merged run is listed as soon as it exists, so it is deleted if a merge fails
+			while (runs.size() > FAN_IN) {
+				for (int i=0; i < runs.size(); i += FAN_IN) {
+					File out = File.createTempFile("radix", ".run", tempDir);
+					merged.add(out);
+					merge(runs.subList(i, Math.min(i + FAN_IN, runs.size())), out, radix);
+				}
+				for (File f: runs) {
+					f.delete();
+				}
+				runs.clear();
+				runs.addAll(merged);
+				merged.clear();
+			}
+			merge(runs, new File(outFile), radix);
+			return count;
+		} finally {
+			for (File f: runs) {
+				f.delete();
+			}
+			for (File f: merged) {
+				f.delete();
+			}
+		}
+	}
+
+	private static File writeRun(String[] sorted, File tempDir)
+	throws IOException {
+		File run = File.createTempFile("radix", ".run", tempDir);
+		try {
+			ItemWriter out = ItemWriter.open(run.getPath());
+			try {
+				for (String item: sorted) {
+					out.write(item);
+				}
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			run.delete();
+			throw e;
+		}
+		return run;
+	}
+
+	/**
+	 * Merges sorted runs into one file. Runs hold consecutive pieces of the input,
+	 * in order, so taking equal items from the lowest numbered run first keeps the
+	 * merge stable.
+	 */
+	private static void merge(List<File> runs, File outFile, final int radix)
+	throws IOException {
+		PriorityQueue<Run> heads = new PriorityQueue<Run>(Math.max(runs.size(), 1), new Comparator<Run>() {
+			public int compare(Run a, Run b) {
+				int c = compareItems(a.item, a.start, b.item, b.start, radix);
+				return c != 0 ? c : a.index - b.index;
+			}
+		});
+		// every run is listed as soon as it is opened, so it is closed even if a later one fails
+		ArrayList<Run> opened = new ArrayList<Run>(runs.size());
+		try {
+			for (int i=0; i < runs.size(); i++) {
+				Run r = new Run(runs.get(i), i, radix);
+				opened.add(r);
+				if (r.next()) {
+					heads.add(r);
+				}
+			}
+			ItemWriter out = ItemWriter.open(outFile.getPath());
+			try {
+				while (!heads.isEmpty()) {
+					Run r = heads.poll();
+					out.write(r.item);
+					if (r.next()) {
+						heads.add(r);
+					}
+				}
+			} finally {
+				out.close();
+			}
+		} finally {
+			for (Run r: opened) {
+				r.close();
+			}
+		}
+	}
+
+	/**
+	 * Compares two numbers by value, given the positions of their first significant digits.
+	 */
+	static int compareItems(String a, int startA, String b, int startB, int radix) {
+		int la = a.length() - startA, lb = b.length() - startB;
+		if (la != lb) {
+			return la - lb;
+		}
+		for (int i=0; i < la; i++) {
+			int diff = Character.digit(a.charAt(startA + i), radix) - Character.digit(b.charAt(startB + i), radix);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Reader for one sorted run, holding its current item.
+	 */
+	private static class Run {
+		final BufferedReader in;
+		final int index, radix;
+		String item;
+		int start;
+
+		Run(File file, int index, int radix)
+		throws IOException {
+			in = new BufferedReader(new InputStreamReader(
+					new FileInputStream(file), StandardCharsets.UTF_8), RUN_BUFFER);
+			this.index = index;
+			this.radix = radix;
+		}
+
+		boolean next()
+		throws IOException {
+			item = in.readLine();
+			if (item == null) {
+				return false;
+			}
+			// skip leading zeros
+			start = 0;
+			while (start < item.length() && Character.digit(item.charAt(start), radix) == 0) {
+				start++;
+			}
+			return true;
+		}
+
+		void close()
+		throws IOException {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package apps;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import structures.Node;
+
+/**
+ * Writes items, one per line, in UTF-8 through a single large buffer, instead of
+ * one System.out.println call per item. This is the one line writer used by the
+ * radix sorts, for the sorted output and for the run files of ExternalRadixsort.
+ */
+public class ItemWriter implements Closeable {
+
+	/**
+	 * Size of the output buffer, in characters.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Buffered writer over the output.
+	 */
+	private final Writer out;
+
+	/**
+	 * Number of lines written.
+	 */
+	private long lines;
+
+	/**
+	 * Initializes a writer over an output stream, such as System.out.
+	 *
+	 * @param out Stream to write to
+	 */
+	public ItemWriter(OutputStream out) {
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	/**
+	 * Opens a writer over a file, which is created or truncated.
+	 *
+	 * @param file Name of the output file
+	 * @return Writer over the file
+	 * @throws IOException If the file cannot be opened
+	 */
+	public static ItemWriter open(String file)
+	throws IOException {
+		return new ItemWriter(new FileOutputStream(file));
+	}
+
+	/**
+	 * Writes one line.
+	 *
+	 * @param item Text of the line, without the line break
+	 * @throws IOException If the output cannot be written
+	 */
+	public void write(String item)
+	throws IOException {
+		out.write(item);
+		out.write('\n');
+		lines++;
+	}
+
+	/**
+	 * Writes every item in a CLL, from the front to the rear.
+	 *
+	 * @param rear Last node of the CLL, or null for an empty list
+	 * @throws IOException If the output cannot be written
+	 */
+	public void write(Node<String> rear)
+	throws IOException {
+		if (rear == null) {
+			return;
+		}
+		Node<String> ptr = rear;
+		do {
+			ptr = ptr.next;
+			write(ptr.data);
+		} while (ptr != rear);
+	}
+
+	/**
+	 * Writes out any buffered lines.
+	 *
+	 * @throws IOException If the output cannot be written
+	 */
+	public void flush()
+	throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Writes out any buffered lines and closes the output. Use flush() instead to
+	 * leave a stream such as System.out open.
+	 *
+	 * @throws IOException If the output cannot be written
+	 */
+	public void close()
+	throws IOException {
+		out.close();
+	}
+
+	/**
+	 * Returns the number of lines written.
+	 *
+	 * @return Number of lines
+	 */
+	public long lines() {
+		return lines;
+	}
+}
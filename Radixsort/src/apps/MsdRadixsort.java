@@ -0,0 +1,196 @@
+package apps;
+
+import java.util.Arrays;
+
+/**
+ * Most-significant-digit-first radix sort for numbers of varying length. Leading
+ * zeros are skipped, items are first grouped by their number of significant
+ * digits (a shorter number is always smaller), and each group is then split on
+ * one digit at a time from the left. Only buckets holding more than one item are
+ * split further, and small buckets are finished with an insertion sort, so each
+ * item is looked at only as far as the digits that tell it apart from the others,
+ * however long the longest item is.
+ *
+ * Results come out in the same order as Radixsort.sort: ascending numeric value,
+ * with items of equal value in input order.
+ */
+public class MsdRadixsort {
+
+	/**
+	 * Buckets with at most this many items are insertion sorted.
+	 */
+	static final int CUTOFF = 16;
+
+	/**
+	 * Items being sorted, and the radix.
+	 */
+	private final String[] items;
+	private final int radix;
+
+	/**
+	 * Position of the first significant digit of every item.
+	 */
+	private final int[] start;
+
+	/**
+	 * Item indexes in sorted order so far, and a buffer to distribute them through.
+	 */
+	private final int[] order, aux;
+
+	/**
+	 * Digit counts, reused at every split.
+	 */
+	private final int[] count;
+
+	private MsdRadixsort(String[] items, int radix) {
+		this.items = items;
+		this.radix = radix;
+		start = new int[items.length];
+		order = new int[items.length];
+		aux = new int[items.length];
+		count = new int[radix+1];
+	}
+
+	/**
+	 * Sorts numbers given as strings in some radix.
+	 *
+	 * @param items Numbers to sort, each a string of digits in the radix
+	 * @param radix Radix, from Character.MIN_RADIX to Character.MAX_RADIX
+	 * @return New array with the items in ascending order
+	 * @throws IllegalArgumentException If an item has a character that is not a digit in the radix
+	 */
+	public static String[] sort(String[] items, int radix) {
+		if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+			throw new IllegalArgumentException("Unsupported radix " + radix);
+		}
+		MsdRadixsort msd = new MsdRadixsort(items, radix);
+		msd.sort();
+		String[] sorted = new String[items.length];
+		for (int i=0; i < sorted.length; i++) {
+			sorted[i] = items[msd.order[i]];
+		}
+		return sorted;
+	}
+
+	private void sort() {
+		int n = items.length;
+		// skip leading zeros, checking every digit on the way
+		int maxLength = 0;
+		for (int i=0; i < n; i++) {
+			String item = items[i];
+			int s = 0;
+			while (s < item.length() && ArrayRadixsort.digit(item, s, radix) == 0) {
+				s++;
+			}
+			for (int j=s+1; j < item.length(); j++) {
+				ArrayRadixsort.digit(item, j, radix);
+			}
+			start[i] = s;
+			maxLength = Math.max(maxLength, item.length() - s);
+		}
+
+		// stable counting sort on the number of significant digits
+		int[] lengths = new int[maxLength+2];
+		for (int i=0; i < n; i++) {
+			lengths[significant(i) + 1]++;
+		}
+		for (int l=0; l <= maxLength; l++) {
+			lengths[l+1] += lengths[l];
+		}
+		for (int i=0; i < n; i++) {
+			order[lengths[significant(i)]++] = i;
+		}
+
+		// lengths[l] is now the end of the group of length l
+		int lo = 0;
+		for (int l=0; l <= maxLength; l++) {
+			int hi = lengths[l];
+			if (l > 0) {
+				split(lo, hi, 0, l);
+			}
+			lo = hi;
+		}
+	}
+
+	private int significant(int i) {
+		return items[i].length() - start[i];
+	}
+
+	private int digitAt(int item, int d) {
+		return Character.digit(items[item].charAt(start[item] + d), radix);
+	}
+
+	/**
+	 * Sorts order[lo, hi), all items with the same number of significant digits and
+	 * equal in their first d significant digits.
+	 */
+	private void split(int lo, int hi, int d, int length) {
+		// an explicit stack of (lo, hi, d) ranges, since length can be large
+		int[] stack = new int[48];
+		int top = 0;
+		for (;;) {
+			if (hi - lo <= CUTOFF) {
+				insertionSort(lo, hi, d, length);
+			} else if (d < length) {
+				int[] c = count;
+				Arrays.fill(c, 0);
+				for (int i=lo; i < hi; i++) {
+					c[digitAt(order[i], d) + 1]++;
+				}
+				for (int b=0; b < radix; b++) {
+					c[b+1] += c[b];
+				}
+				for (int i=lo; i < hi; i++) {
+					int item = order[i];
+					aux[lo + c[digitAt(item, d)]++] = item;
+				}
+				System.arraycopy(aux, lo, order, lo, hi - lo);
+				// c[b] is now the end of bucket b, relative to lo
+				int from = lo;
+				for (int b=0; b < radix; b++) {
+					int to = lo + c[b];
+					if (to - from > 1 && d+1 < length) {
+						if (top + 3 > stack.length) {
+							stack = Arrays.copyOf(stack, stack.length*2);
+						}
+						stack[top++] = from;
+						stack[top++] = to;
+						stack[top++] = d+1;
+					}
+					from = to;
+				}
+			}
+			if (top == 0) {
+				return;
+			}
+			d = stack[--top];
+			hi = stack[--top];
+			lo = stack[--top];
+		}
+	}
+
+	/**
+	 * Stable insertion sort of order[lo, hi) on significant digits d onwards.
+	 */
+	private void insertionSort(int lo, int hi, int d, int length) {
+		for (int i=lo+1; i < hi; i++) {
+			int item = order[i];
+			int j = i;
+			while (j > lo && compare(order[j-1], item, d, length) > 0) {
+				order[j] = order[j-1];
+				j--;
+			}
+			order[j] = item;
+		}
+	}
+
+	private int compare(int a, int b, int d, int length) {
+		for (; d < length; d++) {
+			int diff = digitAt(a, d) - digitAt(b, d);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return 0;
+	}
+}
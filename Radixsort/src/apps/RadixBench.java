@@ -0,0 +1,274 @@
+package apps;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Scanner;
+
+import structures.Node;
+import structures.RadixSort;
+
+/**
+ * Times every radix sort engine against Arrays.sort and Arrays.parallelSort on
+ * generated inputs, at sizes from 10^3 up by factors of 10, and checks that every
+ * engine gives the same order as a stable comparison sort by value. Every case is
+ * warmed up before it is measured, and reports the best and mean time per run,
+ * the throughput in items per second at the best time, and the bytes allocated
+ * per run and per second (summed over all threads, where the JVM can measure it).
+ */
+public class RadixBench {
+
+	/**
+	 * Number of untimed runs before measuring.
+	 */
+	static final int WARMUP = 3;
+
+	/**
+	 * Smallest number of items benchmarked.
+	 */
+	static final int MIN_SIZE = 1000;
+
+	/**
+	 * A benchmarked sort. setup() runs before every run, outside the timing, and
+	 * run() returns the sorted items, as a String[], long[] or CLL.
+	 */
+	static abstract class Case {
+		final String name;
+
+		Case(String name) {
+			this.name = name;
+		}
+
+		void setup() {
+		}
+
+		abstract Object run();
+	}
+
+	public static void main(String[] args) {
+
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter distribution (UNIFORM, ZIPF, SAME_LENGTH, VARYING_LENGTH, HEX, or ALL): ");
+		String which = sysin.next().toUpperCase();
+		RadixGenerator.Distribution[] dists = which.equals("ALL") ? RadixGenerator.Distribution.values() :
+			new RadixGenerator.Distribution[] {RadixGenerator.Distribution.valueOf(which)};
+		System.out.print("Enter largest number of items (e.g. 10000000): ");
+		int maxSize = sysin.nextInt();
+		System.out.print("Enter random seed: ");
+		long seed = sysin.nextLong();
+		System.out.print("Enter number of measured runs: ");
+		int runs = sysin.nextInt();
+
+		int mismatches = 0;
+		for (RadixGenerator.Distribution dist: dists) {
+			for (long n=MIN_SIZE; n <= maxSize; n *= 10) {
+				int radix = RadixGenerator.radix(dist);
+				String[] items = RadixGenerator.generate(dist, (int)n, seed);
+				System.out.println(dist + ": " + n + " items, radix " + radix);
+				String[] expected = reference(items, radix);
+				long[] keys = ArrayRadixsort.parse(items, radix, 0, items.length, new long[items.length]);
+				long[] expectedKeys = null;
+				if (keys != null) {
+					expectedKeys = keys.clone();
+					Arrays.sort(expectedKeys);
+				}
+				for (Case c: cases(items, radix, keys)) {
+					Object result = measure(c, runs, items.length);
+					boolean ok = result instanceof long[] ?
+							Arrays.equals((long[])result, expectedKeys) :
+							Arrays.equals(toArray(result, items.length), expected);
+					if (!ok) {
+						System.out.println("  MISMATCH: " + c.name + " did not sort the items correctly");
+						mismatches++;
+					}
+				}
+			}
+		}
+		System.out.println(mismatches + " mismatches");
+	}
+
+	/**
+	 * Builds the list of benchmarked sorts on some items. The long[] sorts are only
+	 * included when every item fits in a long.
+	 */
+	static ArrayList<Case> cases(final String[] items, final int radix, final long[] keys) {
+		ArrayList<Case> cases = new ArrayList<Case>();
+		final Comparator<String> byValue = comparator(radix);
+		final String[][] work = new String[1][];
+		final long[][] workKeys = new long[1][];
+
+		cases.add(new Case("Radixsort (linked list)") {
+			Object run() {
+				return new Radixsort().sort(items, radix);
+			}
+		});
+		cases.add(new Case("ArrayRadixsort") {
+			Object run() {
+				return ArrayRadixsort.sort(items, radix);
+			}
+		});
+		cases.add(new Case("ArrayRadixsort (parallel)") {
+			Object run() {
+				return ArrayRadixsort.sort(items, radix, true);
+			}
+		});
+		cases.add(new Case("MsdRadixsort") {
+			Object run() {
+				return MsdRadixsort.sort(items, radix);
+			}
+		});
+		cases.add(new Case("Arrays.sort(String[], by value)") {
+			void setup() {
+				work[0] = items.clone();
+			}
+			Object run() {
+				Arrays.sort(work[0], byValue);
+				return work[0];
+			}
+		});
+		cases.add(new Case("Arrays.parallelSort(String[], by value)") {
+			void setup() {
+				work[0] = items.clone();
+			}
+			Object run() {
+				Arrays.parallelSort(work[0], byValue);
+				return work[0];
+			}
+		});
+		if (keys == null) {
+			return cases;
+		}
+		cases.add(new Case("RadixSort.sort(long[])") {
+			void setup() {
+				workKeys[0] = keys.clone();
+			}
+			Object run() {
+				RadixSort.sort(workKeys[0]);
+				return workKeys[0];
+			}
+		});
+		cases.add(new Case("Arrays.sort(long[])") {
+			void setup() {
+				workKeys[0] = keys.clone();
+			}
+			Object run() {
+				Arrays.sort(workKeys[0]);
+				return workKeys[0];
+			}
+		});
+		cases.add(new Case("Arrays.parallelSort(long[])") {
+			void setup() {
+				workKeys[0] = keys.clone();
+			}
+			Object run() {
+				Arrays.parallelSort(workKeys[0]);
+				return workKeys[0];
+			}
+		});
+		return cases;
+	}
+
+	/**
+	 * Returns a comparator of numbers in a radix by value, ignoring leading zeros,
+	 * so that a stable sort with it gives the same order as a stable radix sort.
+	 */
+	static Comparator<String> comparator(final int radix) {
+		return new Comparator<String>() {
+			public int compare(String a, String b) {
+				return ExternalRadixsort.compareItems(a, start(a), b, start(b), radix);
+			}
+		};
+	}
+
+	/**
+	 * Returns the position of the first significant digit of a number.
+	 */
+	private static int start(String item) {
+		int i = 0;
+		while (i < item.length() && item.charAt(i) == '0') {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Sorts a copy of the items with a stable comparison sort, for checking the engines.
+	 */
+	static String[] reference(String[] items, int radix) {
+		String[] sorted = items.clone();
+		Arrays.sort(sorted, comparator(radix));
+		return sorted;
+	}
+
+	/**
+	 * Returns the sorted items given by a case as an array.
+	 */
+	@SuppressWarnings("unchecked")
+	static String[] toArray(Object result, int n) {
+		if (result instanceof String[]) {
+			return (String[])result;
+		}
+		String[] items = new String[n];
+		Node<String> rear = (Node<String>)result;
+		if (rear != null) {
+			Node<String> ptr = rear;
+			int i = 0;
+			do {
+				ptr = ptr.next;
+				if (i == n) {
+					// more nodes than items
+					return null;
+				}
+				items[i++] = ptr.data;
+			} while (ptr != rear);
+		}
+		return items;
+	}
+
+	/**
+	 * Runs a case, prints its timing, throughput and allocation, and returns the
+	 * result of its last run.
+	 */
+	static Object measure(Case c, int runs, int n) {
+		for (int i=0; i < WARMUP; i++) {
+			c.setup();
+			c.run();
+		}
+		long best = Long.MAX_VALUE, total = 0, allocated = 0;
+		Object result = null;
+		for (int i=0; i < runs; i++) {
+			c.setup();
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			result = c.run();
+			long time = System.nanoTime() - start;
+			allocated += allocatedBytes() - bytes;
+			best = Math.min(best, time);
+			total += time;
+		}
+		System.out.printf("  %-40s best %10.2f ms  mean %10.2f ms  %8.2f M items/s  %12.1f KB/op  %8.1f MB/s%n",
+				c.name, best/1e6, total/1e6/runs, n*1e3/best, allocated/1024.0/runs,
+				allocated*1e9/1024/1024/Math.max(total, 1));
+		return result;
+	}
+
+	/**
+	 * Returns the bytes allocated so far by all live threads, or 0 if the JVM
+	 * cannot tell.
+	 */
+	static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+			return 0;
+		}
+		com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean)bean;
+		long sum = 0;
+		for (long b: hotspot.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+			if (b > 0) {
+				sum += b;
+			}
+		}
+		return sum;
+	}
+}
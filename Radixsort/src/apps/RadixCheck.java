@@ -0,0 +1,470 @@
+package apps;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+import structures.RadixSort;
+
+/**
+ * Non-interactive checks of the radix sort engines and their input and output.
+ * Every engine is compared with a stable comparison sort by value on generated
+ * inputs of every distribution, on empty input and on hand-picked edge cases;
+ * the RadixSort library is compared with Arrays.sort. Every check prints one
+ * line, and the exit status is non-zero if any check fails.
+ */
+public class RadixCheck {
+
+	/**
+	 * Sizes of the generated inputs.
+	 */
+	static final int[] SIZES = {0, 1, 1000, 200000};
+
+	/**
+	 * Number of checks that failed.
+	 */
+	static int failures;
+
+	/**
+	 * Directory for the files written by the checks.
+	 */
+	static File dir;
+
+	/**
+	 * Pool with several workers, so the parallel paths split the work even on a
+	 * single processor.
+	 */
+	static ForkJoinPool pool = new ForkJoinPool(4);
+
+	public static void main(String[] args)
+	throws IOException {
+		dir = Files.createTempDirectory("radixcheck").toFile();
+		try {
+			for (RadixGenerator.Distribution dist: RadixGenerator.Distribution.values()) {
+				for (int n: SIZES) {
+					checkEngines(dist + ", " + n + " items", RadixGenerator.generate(dist, n, n + 1),
+							RadixGenerator.radix(dist));
+				}
+			}
+			checkEngines("leading zeros and empty items",
+					new String[] {"10", "007", "", "7", "0", "00", "1", "0010", "9", "000"}, 10);
+			checkEngines("radix 36", new String[] {"zz", "A", "10", "a", "Z", "0z", "9"}, 36);
+			checkReader();
+			checkScanner();
+			checkWriter();
+			checkExternal();
+			checkLibrary();
+		} finally {
+			for (File f: dir.listFiles()) {
+				f.delete();
+			}
+			dir.delete();
+			pool.shutdown();
+		}
+		System.out.println(failures == 0 ? "All checks passed" : failures + " checks FAILED");
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Records the outcome of one check.
+	 */
+	static void check(String name, boolean ok, String detail) {
+		if (ok) {
+			System.out.println("ok      " + name);
+		} else {
+			System.out.println("FAILED  " + name + ": " + detail);
+			failures++;
+		}
+	}
+
+	/**
+	 * Returns a new file in the check directory.
+	 */
+	static File temp(String suffix)
+	throws IOException {
+		return File.createTempFile("check", suffix, dir);
+	}
+
+	/**
+	 * Writes sort input: the radix, then the items one per line.
+	 */
+	static File input(String[] items, int radix)
+	throws IOException {
+		File file = temp(".txt");
+		ItemWriter out = ItemWriter.open(file.getPath());
+		try {
+			out.write(Integer.toString(radix));
+			for (String item: items) {
+				out.write(item);
+			}
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Reads a file of one item per line.
+	 */
+	static String[] lines(File file)
+	throws IOException {
+		String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		return text.isEmpty() ? new String[0] : text.split("\n", -1);
+	}
+
+	/**
+	 * Reads a file of one item per line, written with a line break after every item.
+	 */
+	static String[] output(File file)
+	throws IOException {
+		String[] lines = lines(file);
+		if (lines.length > 0 && lines[lines.length-1].isEmpty()) {
+			lines = Arrays.copyOf(lines, lines.length-1);
+		}
+		return lines;
+	}
+
+	/**
+	 * Runs every engine on some items, and checks each one against a stable sort
+	 * by value.
+	 */
+	static void checkEngines(String label, String[] items, int radix)
+	throws IOException {
+		String[] expected = RadixBench.reference(items, radix);
+		File in = input(items, radix);
+		StringBuilder detail = new StringBuilder();
+
+		compare(detail, "Radixsort", RadixBench.toArray(new Radixsort().sort(items, radix), items.length), expected);
+		RadixReader reader = RadixReader.open(in.getPath());
+		try {
+			compare(detail, "Radixsort from RadixReader",
+					RadixBench.toArray(new Radixsort().sort(reader), items.length), expected);
+		} finally {
+			reader.close();
+		}
+		File out = temp(".out");
+		reader = RadixReader.open(in.getPath());
+		ItemWriter writer = ItemWriter.open(out.getPath());
+		try {
+			new Radixsort().sort(reader, writer);
+		} finally {
+			reader.close();
+			writer.close();
+		}
+		compare(detail, "Radixsort to ItemWriter", output(out), expected);
+		Scanner sc = new Scanner(new FileInputStream(in), "UTF-8");
+		try {
+			compare(detail, "Radixsort from Scanner",
+					RadixBench.toArray(new Radixsort().sort(sc), items.length), expected);
+		} finally {
+			sc.close();
+		}
+		compare(detail, "ArrayRadixsort", ArrayRadixsort.sort(items, radix), expected);
+		compare(detail, "ArrayRadixsort (parallel)", ArrayRadixsort.sort(items, radix, pool), expected);
+		compare(detail, "MsdRadixsort", MsdRadixsort.sort(items, radix), expected);
+		ExternalRadixsort.sort(in.getPath(), out.getPath(), Math.max(1, items.length / 200), dir);
+		compare(detail, "ExternalRadixsort", output(out), expected);
+
+		check("engines on " + label, detail.length() == 0, detail.toString());
+	}
+
+	/**
+	 * Adds a line to detail if an engine's result differs from the expected one.
+	 */
+	static void compare(StringBuilder detail, String engine, String[] actual, String[] expected) {
+		if (actual == null || actual.length != expected.length) {
+			detail.append(engine + " gave " + (actual == null ? "too many" : actual.length) +
+					" items instead of " + expected.length + "; ");
+			return;
+		}
+		for (int i=0; i < expected.length; i++) {
+			if (!expected[i].equals(actual[i])) {
+				detail.append(engine + " has \"" + actual[i] + "\" at " + i + " instead of \"" + expected[i] + "\"; ");
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Checks RadixReader on empty input, blank lines, CRLF line breaks and invalid digits.
+	 */
+	static void checkReader()
+	throws IOException {
+		File empty = temp(".txt");
+		String error = null;
+		try {
+			RadixReader.open(empty.getPath()).close();
+		} catch (IOException e) {
+			error = e.getMessage();
+		}
+		check("RadixReader rejects an empty file", error != null, "no exception");
+
+		RadixReader reader = RadixReader.open(input(new String[0], 16).getPath());
+		try {
+			check("RadixReader, radix line only", reader.radix() == 16 && reader.readAll().length == 0,
+					"radix " + reader.radix());
+		} finally {
+			reader.close();
+		}
+
+		File file = temp(".txt");
+		Files.write(file.toPath(), "10\r\n12\r\n\r\n7\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+		reader = RadixReader.open(file.getPath());
+		try {
+			String[] items = reader.readAll();
+			check("RadixReader, CRLF and blank lines", Arrays.equals(items, new String[] {"12", "", "7"}),
+					Arrays.toString(items));
+		} finally {
+			reader.close();
+		}
+
+		reader = RadixReader.open(input(new String[] {"12", "34", "5x6"}, 10).getPath());
+		error = null;
+		try {
+			reader.readAll();
+		} catch (IOException e) {
+			error = e.getMessage();
+		} finally {
+			reader.close();
+		}
+		check("RadixReader reports the line of an invalid digit", error != null && error.startsWith("Line 4:"),
+				"got " + error);
+	}
+
+	/**
+	 * Checks that the Scanner input of Radixsort rejects an unsupported radix and
+	 * an invalid digit with the number of the line, as RadixReader does.
+	 */
+	static void checkScanner()
+	throws IOException {
+		String[] inputs = {"40\n12\n", "10\n12\n34\n5x6\n"};
+		String[] expected = {"Line 1: unsupported radix 40", "Line 4: invalid digit 'x'"};
+		String[] labels = {"an unsupported radix", "an invalid digit"};
+		for (int i=0; i < inputs.length; i++) {
+			String error = null;
+			Scanner sc = new Scanner(inputs[i]);
+			try {
+				new Radixsort().sort(sc);
+			} catch (IOException e) {
+				error = e.getMessage();
+			} finally {
+				sc.close();
+			}
+			check("Radixsort from Scanner reports " + labels[i], error != null && error.startsWith(expected[i]),
+					"got " + error);
+		}
+	}
+
+	/**
+	 * Writes multi-byte UTF-8 items through an ItemWriter, enough of them to cross
+	 * many buffer flushes at every alignment, and reads them back.
+	 */
+	static void checkWriter()
+	throws IOException {
+		int n = 20000;
+		String[] items = new String[n];
+		for (int i=0; i < n; i++) {
+			items[i] = i % 3 == 0 ? "v" + i : i % 3 == 1 ? "\u00f1and\u00fa" + i : "\u00e9\u20ac\ud83d\ude00" + i;
+		}
+		File file = temp(".txt");
+		ItemWriter out = ItemWriter.open(file.getPath());
+		try {
+			for (String item: items) {
+				out.write(item);
+			}
+		} finally {
+			out.close();
+		}
+		StringBuilder detail = new StringBuilder();
+		compare(detail, "ItemWriter", output(file), items);
+		check("ItemWriter, non-ASCII items across " + file.length() / ItemWriter.BUFFER_SIZE + " buffers",
+				detail.length() == 0 && out.lines() == n, detail.toString());
+	}
+
+	/**
+	 * Runs ExternalRadixsort with enough runs to need more than one merge pass, and
+	 * checks that no run files are left behind, also when the input turns out to be
+	 * invalid after some runs have been written.
+	 */
+	static void checkExternal()
+	throws IOException {
+		String[] items = RadixGenerator.generate(RadixGenerator.Distribution.VARYING_LENGTH, 50000, 3);
+		File in = input(items, 10);
+		File out = temp(".out");
+		File runs = new File(dir, "runs");
+		runs.mkdir();
+		try {
+			int chunk = items.length / (ExternalRadixsort.FAN_IN * 3);
+			long n = ExternalRadixsort.sort(in.getPath(), out.getPath(), chunk, runs);
+			StringBuilder detail = new StringBuilder();
+			compare(detail, "ExternalRadixsort", output(out), RadixBench.reference(items, 10));
+			check("ExternalRadixsort, " + (items.length + chunk - 1) / chunk + " runs in several merge passes",
+					detail.length() == 0 && n == items.length, detail.toString());
+			check("ExternalRadixsort leaves no run files", runs.list().length == 0,
+					runs.list().length + " files left");
+
+			String[] bad = Arrays.copyOf(items, items.length + 1);
+			bad[items.length] = "12a";
+			String error = null;
+			try {
+				ExternalRadixsort.sort(input(bad, 10).getPath(), out.getPath(), chunk, runs);
+			} catch (IOException e) {
+				error = e.getMessage();
+			}
+			check("ExternalRadixsort reports an invalid item", error != null, "no exception");
+			check("ExternalRadixsort leaves no run files after a failure", runs.list().length == 0,
+					runs.list().length + " files left");
+		} finally {
+			for (File f: runs.listFiles()) {
+				f.delete();
+			}
+			runs.delete();
+		}
+	}
+
+	/**
+	 * Compares the RadixSort library with Arrays.sort.
+	 */
+	static void checkLibrary() {
+		Random rnd = new Random(17);
+		for (int n: SIZES) {
+			int[] ints = new int[n];
+			long[] longs = new long[n], few = new long[n];
+			float[] floats = new float[n];
+			double[] doubles = new double[n];
+			String[] strings = new String[n];
+			byte[][] bytes = new byte[n][];
+			for (int i=0; i < n; i++) {
+				ints[i] = rnd.nextInt();
+				longs[i] = rnd.nextLong() >> rnd.nextInt(64);
+				few[i] = rnd.nextInt(8) - 4;
+				boolean special = rnd.nextInt(10) == 0;
+				floats[i] = special ? (float)SPECIAL[i % SPECIAL.length] : (float)rnd.nextGaussian() * 1e6f;
+				doubles[i] = special ? SPECIAL[i % SPECIAL.length] : rnd.nextGaussian() * 1e12;
+				char[] c = new char[rnd.nextInt(6)];
+				for (int j=0; j < c.length; j++) {
+					c[j] = rnd.nextBoolean() ? (char)('a' + rnd.nextInt(3)) : (char)rnd.nextInt(0x10000);
+				}
+				strings[i] = new String(c);
+				bytes[i] = new byte[rnd.nextInt(5)];
+				for (int j=0; j < bytes[i].length; j++) {
+					bytes[i][j] = (byte)(rnd.nextBoolean() ? rnd.nextInt(3) : rnd.nextInt(256));
+				}
+			}
+			String label = " on " + n + " items";
+
+			int[] ia = ints.clone(), ib = ints.clone();
+			RadixSort.sort(ia);
+			Arrays.sort(ib);
+			check("RadixSort.sort(int[])" + label, Arrays.equals(ia, ib), "differs from Arrays.sort");
+
+			long[] lb = longs.clone();
+			Arrays.sort(lb);
+			long[] la = longs.clone();
+			RadixSort.sort(la);
+			boolean ok = Arrays.equals(la, lb);
+			for (int bits: new int[] {8, 11, 16}) {
+				la = longs.clone();
+				RadixSort.sort(la, bits);
+				ok &= Arrays.equals(la, lb);
+			}
+			check("RadixSort.sort(long[]), every digit width" + label, ok, "differs from Arrays.sort");
+
+			float[] fa = floats.clone(), fb = floats.clone();
+			RadixSort.sort(fa);
+			Arrays.sort(fb);
+			check("RadixSort.sort(float[])" + label, Arrays.equals(fa, fb), "differs from Arrays.sort");
+
+			double[] da = doubles.clone(), db = doubles.clone();
+			RadixSort.sort(da);
+			Arrays.sort(db);
+			check("RadixSort.sort(double[])" + label, Arrays.equals(da, db), "differs from Arrays.sort");
+
+			// stability: equal keys must keep the order of their values
+			long[] keys = few.clone();
+			int[] values = new int[n];
+			for (int i=0; i < n; i++) {
+				values[i] = i;
+			}
+			RadixSort.sort(keys, values);
+			ok = true;
+			for (int i=0; i < n; i++) {
+				ok &= keys[i] == few[values[i]] && (i == 0 || keys[i-1] < keys[i] ||
+						keys[i-1] == keys[i] && values[i-1] < values[i]);
+			}
+			check("RadixSort.sort(long[], int[]) is stable" + label, ok, "out of order");
+
+			// distinct objects with equal values, so the order of equal keys can be seen
+			Holder[] held = new Holder[n];
+			for (int i=0; i < n; i++) {
+				held[i] = new Holder((int)few[i]);
+			}
+			Holder[] oa = held.clone(), ob = held.clone();
+			RadixSort.sort(oa, new RadixSort.LongKey<Holder>() {
+				public long key(Holder item) {
+					return item.value;
+				}
+			});
+			Arrays.sort(ob, new Comparator<Holder>() {
+				public int compare(Holder x, Holder y) {
+					return Integer.compare(x.value, y.value);
+				}
+			});
+			ok = true;
+			for (int i=0; i < n; i++) {
+				// same objects in the same order, not just equal values
+				ok &= oa[i] == ob[i];
+			}
+			check("RadixSort.sort(T[], LongKey) is stable" + label, ok, "differs from Arrays.sort");
+
+			String[] sa = strings.clone(), sb = strings.clone();
+			RadixSort.sort(sa);
+			Arrays.sort(sb);
+			check("RadixSort.sort(String[])" + label, Arrays.equals(sa, sb), "differs from Arrays.sort");
+
+			byte[][] ba = bytes.clone(), bb = bytes.clone();
+			RadixSort.sort(ba);
+			Arrays.sort(bb, new Comparator<byte[]>() {
+				public int compare(byte[] x, byte[] y) {
+					for (int d=0; d < x.length && d < y.length; d++) {
+						if (x[d] != y[d]) {
+							return (x[d] & 0xff) - (y[d] & 0xff);
+						}
+					}
+					return x.length - y.length;
+				}
+			});
+			ok = true;
+			for (int i=0; i < n; i++) {
+				ok &= ba[i] == bb[i];
+			}
+			check("RadixSort.sort(byte[][]) is stable" + label, ok, "differs from Arrays.sort");
+		}
+	}
+
+	/**
+	 * An int value in an object of its own, so that equal values can be told apart.
+	 */
+	private static class Holder {
+		final int value;
+
+		Holder(int value) {
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Floating-point values that are easy to get wrong.
+	 */
+	static final double[] SPECIAL = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY,
+		Double.NEGATIVE_INFINITY, Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE};
+}
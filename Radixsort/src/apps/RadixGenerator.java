@@ -0,0 +1,153 @@
+package apps;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * Makes seeded synthetic inputs for the radix sorts, and writes them in the
+ * input format read by Radixsort: the radix, then one number per line.
+ */
+public class RadixGenerator {
+
+	/**
+	 * Kinds of input that can be generated.
+	 */
+	public enum Distribution {
+		/**
+		 * Decimal values uniform in 0 to 10^18 - 1, so nearly all have 17 or 18 digits.
+		 */
+		UNIFORM,
+		/**
+		 * Decimal values drawn from ZIPF_VALUES distinct values with Zipf (s = ZIPF_EXPONENT)
+		 * frequencies, so a few values account for most of the items.
+		 */
+		ZIPF,
+		/**
+		 * Decimal numbers of exactly SAME_LENGTH digits, leading zeros included.
+		 */
+		SAME_LENGTH,
+		/**
+		 * Decimal numbers of 1 to 10 digits, with one item in a hundred having up to
+		 * LONGEST digits - too long for a long, and many passes for an LSD sort.
+		 */
+		VARYING_LENGTH,
+		/**
+		 * Radix 16 numbers of 1 to 16 digits, in mixed case.
+		 */
+		HEX
+	}
+
+	/**
+	 * Number of distinct values in ZIPF inputs, and the Zipf exponent.
+	 */
+	static final int ZIPF_VALUES = 1 << 16;
+	static final double ZIPF_EXPONENT = 1.1;
+
+	/**
+	 * Number of digits of SAME_LENGTH items, and of the longest VARYING_LENGTH items.
+	 */
+	static final int SAME_LENGTH = 12;
+	static final int LONGEST = 60;
+
+	public static void main(String[] args)
+	throws IOException {
+
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter distribution (UNIFORM, ZIPF, SAME_LENGTH, VARYING_LENGTH, HEX): ");
+		Distribution dist = Distribution.valueOf(sysin.next().toUpperCase());
+		System.out.print("Enter number of items: ");
+		int n = sysin.nextInt();
+		System.out.print("Enter random seed: ");
+		long seed = sysin.nextLong();
+		System.out.print("Enter output file name: ");
+		String file = sysin.next();
+
+		ItemWriter out = ItemWriter.open(file);
+		try {
+			out.write(Integer.toString(radix(dist)));
+			for (String item: generate(dist, n, seed)) {
+				out.write(item);
+			}
+		} finally {
+			out.close();
+		}
+		System.out.println("Wrote " + n + " " + dist + " items to " + file);
+	}
+
+	/**
+	 * Returns the radix of the items of a distribution.
+	 *
+	 * @param dist Distribution
+	 * @return 16 for HEX, 10 for the rest
+	 */
+	public static int radix(Distribution dist) {
+		return dist == Distribution.HEX ? 16 : 10;
+	}
+
+	/**
+	 * Generates items.
+	 *
+	 * @param dist Distribution of the items
+	 * @param n Number of items
+	 * @param seed Random seed - the same seed always gives the same items
+	 * @return Items, as strings of digits in radix(dist)
+	 */
+	public static String[] generate(Distribution dist, int n, long seed) {
+		Random rnd = new Random(seed);
+		String[] items = new String[n];
+		switch (dist) {
+		case UNIFORM:
+			for (int i=0; i < n; i++) {
+				items[i] = Long.toString(Math.floorMod(rnd.nextLong(), 1000000000000000000L));
+			}
+			break;
+		case ZIPF:
+			long[] values = new long[ZIPF_VALUES];
+			for (int v=0; v < values.length; v++) {
+				values[v] = rnd.nextLong() >>> (1 + rnd.nextInt(63));
+			}
+			double[] cdf = new double[ZIPF_VALUES];
+			double sum = 0;
+			for (int v=0; v < cdf.length; v++) {
+				sum += 1 / Math.pow(v+1, ZIPF_EXPONENT);
+				cdf[v] = sum;
+			}
+			for (int i=0; i < n; i++) {
+				int v = Arrays.binarySearch(cdf, rnd.nextDouble() * sum);
+				v = v < 0 ? -v-1 : v;
+				items[i] = Long.toString(values[Math.min(v, ZIPF_VALUES-1)]);
+			}
+			break;
+		case SAME_LENGTH:
+			for (int i=0; i < n; i++) {
+				items[i] = digits(rnd, SAME_LENGTH, 10, false);
+			}
+			break;
+		case VARYING_LENGTH:
+			for (int i=0; i < n; i++) {
+				int length = rnd.nextInt(100) == 0 ? 1 + rnd.nextInt(LONGEST) : 1 + rnd.nextInt(10);
+				items[i] = digits(rnd, length, 10, false);
+			}
+			break;
+		case HEX:
+			for (int i=0; i < n; i++) {
+				items[i] = digits(rnd, 1 + rnd.nextInt(16), 16, true);
+			}
+			break;
+		}
+		return items;
+	}
+
+	private static String digits(Random rnd, int length, int radix, boolean mixedCase) {
+		char[] c = new char[length];
+		for (int j=0; j < length; j++) {
+			c[j] = Character.forDigit(rnd.nextInt(radix), radix);
+			if (mixedCase && rnd.nextBoolean()) {
+				c[j] = Character.toUpperCase(c[j]);
+			}
+		}
+		return new String(c);
+	}
+}
@@ -0,0 +1,302 @@
+package apps;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reads radix sort input - the radix on the first line, then one number per line -
+ * straight from a channel through a byte buffer, without a Scanner. Lines are split
+ * and every digit is checked against the radix in the same pass, so a bad line is
+ * reported with its line number instead of failing later in the sort.
+ *
+ * As with the Scanner-based input of Radixsort, blank lines at the end of the
+ * input are ignored, and blank lines before other items are read as empty items.
+ */
+public class RadixReader implements Closeable {
+
+	/**
+	 * Size of the read buffer, in bytes.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Value of every byte as a digit, or Character.MAX_RADIX if it is not one.
+	 */
+	private static final byte[] DIGITS = new byte[256];
+	static {
+		for (int b=0; b < 256; b++) {
+			int d = Character.digit((char)b, Character.MAX_RADIX);
+			DIGITS[b] = (byte)(d < 0 || b >= 0x80 ? Character.MAX_RADIX : d);
+		}
+	}
+
+	/**
+	 * Channel being read.
+	 */
+	private final ReadableByteChannel channel;
+
+	/**
+	 * Read buffer, its backing array, next unread byte and number of valid bytes.
+	 */
+	private final ByteBuffer buf;
+	private final byte[] bytes;
+	private int pos, lim;
+
+	/**
+	 * The most recently read line, without its line break.
+	 */
+	private byte[] line;
+	private int lineLength;
+
+	/**
+	 * The radix declared on the first line.
+	 */
+	private final int radix;
+
+	/**
+	 * Blank lines seen but not yet returned, and the item read after them.
+	 */
+	private int blank;
+	private String pending;
+
+	/**
+	 * Number of lines read, items returned, and time taken.
+	 */
+	private long lines, items, elapsedNanos;
+	private final long start;
+	private boolean eof;
+
+	/**
+	 * Initializes a reader over a channel, reading the radix line.
+	 *
+	 * @param channel Channel to read
+	 * @throws IOException If the channel cannot be read, or the radix is missing or invalid
+	 */
+	public RadixReader(ReadableByteChannel channel)
+	throws IOException {
+		this.channel = channel;
+		start = System.nanoTime();
+		bytes = new byte[BUFFER_SIZE];
+		buf = ByteBuffer.wrap(bytes);
+		line = new byte[64];
+		if (!readLine()) {
+			throw new IOException("Empty input: expected the radix on line 1");
+		}
+		String first = new String(line, 0, lineLength, StandardCharsets.ISO_8859_1).trim();
+		int r;
+		try {
+			r = Integer.parseInt(first);
+		} catch (NumberFormatException e) {
+			throw new IOException("Line 1: invalid radix \"" + first + "\"", e);
+		}
+		if (r < Character.MIN_RADIX || r > Character.MAX_RADIX) {
+			throw new IOException("Line 1: unsupported radix " + r);
+		}
+		radix = r;
+	}
+
+	/**
+	 * Initializes a reader over a stream, such as System.in, reading the radix line.
+	 *
+	 * @param in Stream to read
+	 * @throws IOException If the stream cannot be read, or the radix is missing or invalid
+	 */
+	public RadixReader(InputStream in)
+	throws IOException {
+		this(Channels.newChannel(in));
+	}
+
+	/**
+	 * Opens a reader over a file, reading the radix line.
+	 *
+	 * @param file Name of the input file
+	 * @return Reader over the file
+	 * @throws IOException If the file cannot be read, or the radix is missing or invalid
+	 */
+	public static RadixReader open(String file)
+	throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+		try {
+			return new RadixReader(channel);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the radix declared on the first line.
+	 *
+	 * @return Radix
+	 */
+	public int radix() {
+		return radix;
+	}
+
+	private boolean fill()
+	throws IOException {
+		if (eof) {
+			return false;
+		}
+		buf.clear();
+		int n = channel.read(buf);
+		while (n == 0) {
+			n = channel.read(buf);
+		}
+		if (n < 0) {
+			eof = true;
+			return false;
+		}
+		pos = 0;
+		lim = n;
+		return true;
+	}
+
+	/**
+	 * Reads the next line into the line buffer, dropping its line break.
+	 *
+	 * @return True if a line was read, false at the end of the input
+	 */
+	private boolean readLine()
+	throws IOException {
+		if (pos == lim && !fill()) {
+			return false;
+		}
+		lineLength = 0;
+		for (;;) {
+			if (pos == lim && !fill()) {
+				break;
+			}
+			// copy up to the next line break in one go
+			int end = pos;
+			while (end < lim && bytes[end] != '\n') {
+				end++;
+			}
+			int n = end - pos;
+			if (lineLength + n > line.length) {
+				line = Arrays.copyOf(line, Math.max(line.length*2, lineLength + n));
+			}
+			System.arraycopy(bytes, pos, line, lineLength, n);
+			lineLength += n;
+			pos = end;
+			if (end < lim) {
+				pos++;
+				break;
+			}
+		}
+		if (lineLength > 0 && line[lineLength-1] == '\r') {
+			lineLength--;
+		}
+		lines++;
+		return true;
+	}
+
+	/**
+	 * Returns the next item.
+	 *
+	 * @return Next item, or null at the end of the input
+	 * @throws IOException If the input cannot be read, or a line has a character that is
+	 * not a digit in the radix
+	 */
+	public String next()
+	throws IOException {
+		if (pending != null) {
+			items++;
+			if (blank > 0) {
+				blank--;
+				return "";
+			}
+			String s = pending;
+			pending = null;
+			return s;
+		}
+		for (;;) {
+			if (!readLine()) {
+				elapsedNanos = System.nanoTime() - start;
+				return null;
+			}
+			if (lineLength == 0) {
+				blank++;
+				continue;
+			}
+			for (int i=0; i < lineLength; i++) {
+				if (DIGITS[line[i] & 0xff] >= radix) {
+					throw new IOException("Line " + lines + ": invalid digit '" +
+							(char)(line[i] & 0xff) + "' for radix " + radix + " in \"" +
+							new String(line, 0, lineLength, StandardCharsets.UTF_8) + "\"");
+				}
+			}
+			// all bytes are ASCII digits now
+			String s = new String(line, 0, lineLength, StandardCharsets.ISO_8859_1);
+			items++;
+			if (blank > 0) {
+				blank--;
+				pending = s;
+				return "";
+			}
+			return s;
+		}
+	}
+
+	/**
+	 * Reads all the remaining items.
+	 *
+	 * @return Items, in input order
+	 * @throws IOException If the input cannot be read, or an item is invalid
+	 */
+	public String[] readAll()
+	throws IOException {
+		ArrayList<String> all = new ArrayList<String>();
+		for (String s = next(); s != null; s = next()) {
+			all.add(s);
+		}
+		return all.toArray(new String[all.size()]);
+	}
+
+	/**
+	 * Returns the number of items read so far.
+	 *
+	 * @return Number of items
+	 */
+	public long items() {
+		return items;
+	}
+
+	/**
+	 * Returns the time from opening the input to reaching its end.
+	 *
+	 * @return Read time in nanoseconds, or 0 if the end has not been reached
+	 */
+	public long elapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns the ingest rate, once the end of the input has been reached.
+	 *
+	 * @return Lines read per second
+	 */
+	public double linesPerSecond() {
+		return elapsedNanos == 0 ? 0 : lines * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Closes the underlying channel.
+	 *
+	 * @throws IOException If the channel cannot be closed
+	 */
+	public void close()
+	throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,88 @@
+package apps;
+
+import java.util.Random;
+import java.util.Scanner;
+
+import structures.RadixSort;
+
+/**
+ * Times the LSD sort of random long keys with 8, 11 and 16 bit digits, for a
+ * range of array sizes and key spans, and reports the fastest width next to the
+ * one RadixSort.digitBits would choose. Run on the target machine to check or
+ * adjust the thresholds in RadixSort.
+ */
+public class RadixTune {
+
+	/**
+	 * Digit widths tried.
+	 */
+	static final int[] WIDTHS = {8, 11, 16};
+
+	/**
+	 * Key spans tried, in bits.
+	 */
+	static final int[] SPANS = {16, 32, 48, 64};
+
+	/**
+	 * Number of timed runs per setting; the best is reported.
+	 */
+	static final int RUNS = 5;
+
+	public static void main(String[] args) {
+
+		Scanner sysin = new Scanner(System.in);
+		System.out.print("Enter largest number of keys (e.g. 10000000): ");
+		int maxKeys = sysin.nextInt();
+		System.out.print("Enter random seed: ");
+		long seed = sysin.nextLong();
+
+		System.out.printf("%10s %5s %10s %10s %10s %6s %8s%n",
+				"keys", "span", "8 bits", "11 bits", "16 bits", "best", "chosen");
+		int mismatches = 0;
+		for (long n=1000; n <= maxKeys; n *= 10) {
+			for (int span: SPANS) {
+				long[] keys = keys((int)n, span, new Random(seed));
+				long[] work = new long[keys.length];
+				long bestTime = Long.MAX_VALUE;
+				int best = 0;
+				StringBuilder line = new StringBuilder(String.format("%10d %5d", n, span));
+				for (int bits: WIDTHS) {
+					long time = Long.MAX_VALUE;
+					// one untimed run to warm up, then the best of RUNS
+					for (int r=0; r <= RUNS; r++) {
+						System.arraycopy(keys, 0, work, 0, keys.length);
+						long start = System.nanoTime();
+						RadixSort.sort(work, bits);
+						long t = System.nanoTime() - start;
+						if (r > 0) {
+							time = Math.min(time, t);
+						}
+					}
+					line.append(String.format(" %8.2fms", time / 1e6));
+					if (time < bestTime) {
+						bestTime = time;
+						best = bits;
+					}
+				}
+				int chosen = RadixSort.digitBits((int)n, span);
+				if (chosen != best) {
+					mismatches++;
+				}
+				System.out.println(line + String.format(" %6d %8d", best, chosen));
+			}
+		}
+		System.out.println(mismatches + " settings where the chosen width was not the fastest");
+	}
+
+	/**
+	 * Makes random non-negative keys that vary in the low span bits.
+	 */
+	private static long[] keys(int n, int span, Random random) {
+		long mask = span >= 63 ? Long.MAX_VALUE : (1L << span) - 1;
+		long[] keys = new long[n];
+		for (int i=0; i < n; i++) {
+			keys[i] = random.nextLong() & mask;
+		}
+		return keys;
+	}
+}
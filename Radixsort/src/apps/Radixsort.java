@@ -24,7 +24,8 @@ public class Radixsort {
 	
 	/**
 	 * Array of linked lists that holds the digit-wise distribution of the items during
-	 * each pass of the radixsort algorithm. 
+	 * each pass of the radixsort algorithm. Like the master list, each bucket is a CLL
+	 * referenced by its last node, so items can be appended in O(1).
 	 */
 	Node<String>[] buckets;
 	
@@ -33,6 +34,11 @@ public class Radixsort {
 	 */
 	int radix = 10;
 	
+	/**
+	 * Listener for pass-by-pass events, null (no tracing) by default.
+	 */
+	SortListener listener;
+	
 	/**
 	 * Initializes this object with the given radix (10 or 16)
 	 * 
@@ -41,6 +47,31 @@ public class Radixsort {
 	public Radixsort() {
 		masterListRear = null;
 		buckets = null;
+		listener = null;
+	}
+	
+	/**
+	 * Installs a listener that is told about every pass of the sort.
+	 * 
+	 * @param listener Listener, or null to turn tracing off
+	 */
+	public void setListener(SortListener listener) {
+		this.listener = listener;
+	}
+	
+	/**
+	 * Sets the radix, and allocates one empty bucket per digit.
+	 * 
+	 * @param radix Radix of the items
+	 * @throws IllegalArgumentException If the radix is not from Character.MIN_RADIX to Character.MAX_RADIX
+	 */
+	@SuppressWarnings("unchecked")
+	private void setRadix(int radix) {
+		if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+			throw new IllegalArgumentException("unsupported radix " + radix);
+		}
+		this.radix = radix;
+		buckets = (Node<String>[])new Node<?>[radix];
 	}
 	
 	/**
@@ -58,23 +89,134 @@ public class Radixsort {
 	 * through all the intermediate stages of the sorting process.
 	 * 
 	 * @param sc Scanner that points to the input file of radix + items to be sorted
-	 * @return Sorted (in ascending order) circular list of items
-	 * @throws IOException If there is an exception in reading the input file
+	 * @return Sorted (in ascending order) circular list of items, or null if there are none
+	 * @throws IOException If there is an exception in reading the input file, the radix is
+	 * unsupported, or an item has a character that is not a digit in the radix
 	 */
 	public Node<String> sort(Scanner sc) throws IOException {
-				if (!sc.hasNext()) {
-					return null;
-				}
-				radix = sc.nextInt();
-				buckets = (Node<String>[])new Node[radix];
-				createMasterListFromInput(sc);
-				int maxDigits = getMaxDigits();
-				for (int i = 0; i < maxDigits; i++) {
-					scatter(i);
-					gather();
-				}
-				return masterListRear;
+		if (!sc.hasNext()) {
+			return null;
+		}
+		try {
+			setRadix(sc.nextInt());
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Line 1: " + e.getMessage(), e);
+		}
+		createMasterListFromInput(sc);
+		if (masterListRear == null) {
+			return null;
+		}
+		return sortMasterList(null);
+	}
+	
+	/**
+	 * Sorts the items read by a RadixReader, which has already read the radix, and
+	 * returns a CLL containing the sorted result in ascending order. Every item has
+	 * been checked to hold only digits in the radix.
+	 * 
+	 * @param in Reader positioned after the radix line
+	 * @return Sorted (in ascending order) circular list of items, or null if there are none
+	 * @throws IOException If there is an exception in reading the input, or an item is invalid
+	 */
+	public Node<String> sort(RadixReader in) throws IOException {
+		return sort(in, null);
+	}
+	
+	/**
+	 * Sorts the items read by a RadixReader, like sort(RadixReader), and also writes
+	 * the sorted items out as the final pass gathers them, so the result list need
+	 * not be walked again to print it.
+	 * 
+	 * @param in Reader positioned after the radix line
+	 * @param out Writer for the sorted items, or null for none
+	 * @return Sorted (in ascending order) circular list of items, or null if there are none
+	 * @throws IOException If there is an exception in reading the input, an item is invalid,
+	 * or the output cannot be written
+	 */
+	public Node<String> sort(RadixReader in, ItemWriter out) throws IOException {
+		setRadix(in.radix());
+		masterListRear = null;
+		for (String item = in.next(); item != null; item = in.next()) {
+			append(item);
+		}
+		if (masterListRear == null) {
+			return null;
+		}
+		return sortMasterList(out);
+	}
+	
+	/**
+	 * Sorts items already in memory, and returns a CLL containing the sorted result in
+	 * ascending order. Used to time the sort itself, apart from reading the input.
+	 * 
+	 * @param items Items to be sorted, every one made of digits in the radix
+	 * @param radix Radix of the items
+	 * @return Sorted (in ascending order) circular list of items, or null if there are none
+	 * @throws IllegalArgumentException If the radix is not from Character.MIN_RADIX to Character.MAX_RADIX
+	 */
+	Node<String> sort(String[] items, int radix) {
+		setRadix(radix);
+		masterListRear = null;
+		for (String item: items) {
+			append(item);
+		}
+		if (masterListRear == null) {
+			return null;
+		}
+		try {
+			return sortMasterList(null);
+		} catch (IOException e) {
+			// nothing is written without an ItemWriter
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Appends an item at the rear of the master list.
+	 * 
+	 * @param item Item to append
+	 */
+	private void append(String item) {
+		Node<String> node = new Node<String>(item, null);
+		if (masterListRear == null) {
+			node.next = node;
+		} else {
+			node.next = masterListRear.next;
+			masterListRear.next = node;
+		}
+		masterListRear = node;
+	}
+	
+	/**
+	 * Runs all the scatter and gather passes over the master list.
+	 * 
+	 * @param out Writer for the sorted items, fed by the final gather, or null for none
+	 * @return Sorted (in ascending order) circular list of items
+	 * @throws IOException If the output cannot be written
+	 */
+	private Node<String> sortMasterList(ItemWriter out) throws IOException {
+		int maxDigits = getMaxDigits();
+		if (maxDigits == 0 && out != null) {
+			// no passes at all
+			out.write(masterListRear);
+		}
+		for (int i = 0; i < maxDigits; i++) {
+			if (listener != null) {
+				listener.passStarted(i, masterListRear);
 			}
+			scatter(i);
+			if (i == maxDigits-1 && out != null) {
+				gather(out);
+			} else {
+				gather();
+			}
+			if (listener != null) {
+				listener.passFinished(i, masterListRear);
+			}
+		}
+		return masterListRear;
+	}
+	
 	/**
 	 * Reads entries to be sorted from input file and stores them as 
 	 * strings in the master CLL (pointed by the instance field masterListRear, 
@@ -82,18 +224,28 @@ public class Radixsort {
 	 * list is the first entry in the input, the second entry in the linked list is the 
 	 * second entry in the input, and so on. 
 	 * 
-	 * @param sc Scanner pointing to the input file
-	 * @throws IOException If there is any error in reading the input
+	 * Every item is checked to hold only digits in the radix as it is read, as RadixReader
+	 * does, so a bad line is reported by number instead of failing later in scatter.
+	 * 
+	 * @param sc Scanner pointing to the input file, just after the radix
+	 * @throws IOException If there is any error in reading the input, or an item has a
+	 * character that is not a digit in the radix
 	 */
 	public void createMasterListFromInput(Scanner sc) throws IOException {
-		sc.nextLine();
-		Node <String> front = new <String> Node (sc.nextLine(),null);
-		front.next = front;
-		masterListRear = front;
-		while (sc.hasNext()== true){
-			Node <String> tempVal = new <String> Node (sc.nextLine(), front);
-			masterListRear.next= tempVal;
-			masterListRear = masterListRear.next;
+		if (sc.hasNextLine()) {
+			// rest of the radix line
+			sc.nextLine();
+		}
+		masterListRear = null;
+		for (int line = 2; sc.hasNext(); line++) {
+			String item = sc.nextLine();
+			for (int i = 0; i < item.length(); i++) {
+				if (Character.digit(item.charAt(i), radix) < 0) {
+					throw new IOException("Line " + line + ": invalid digit '" + item.charAt(i) +
+							"' for radix " + radix + " in \"" + item + "\"");
+				}
+			}
+			append(item);
 		}
 	}
 	/**
@@ -125,88 +277,64 @@ public class Radixsort {
 	 * then converted into the appropriate numeric value in the given radix
 	 * using the java.lang.Character.digit(char ch, int radix) method
 	 * 
+	 * Items are taken from the front of the master list and appended at the rear of
+	 * their bucket, which keeps every pass stable and makes it O(n).
+	 * 
 	 * @param pass Pass is 0 for rightmost digit, 1 for second to rightmost, etc
 	 */
 	public void scatter(int pass) {
-		Node<String> ptrOneofThree = masterListRear;
-		Sorter.printCLL(masterListRear);
+		Node<String> ptr = masterListRear.next;
+		boolean last;
 		do {
-			if ((ptrOneofThree.data.length() - pass - 1) < 0) {
-				if (buckets[0] == null) {
-					Node <String> firstPtr;
-					buckets[0] = ptrOneofThree;
-					firstPtr = ptrOneofThree;
-					ptrOneofThree = ptrOneofThree.next;
-					firstPtr.next=firstPtr;
-				}
-				else {
-					Node ptrSecond = buckets[0];
-					while (ptrSecond.next != buckets[0]) {
-						ptrSecond = ptrSecond.next;
-					}
-					Node <String> firstPtr;
-					firstPtr = ptrOneofThree;
-					ptrOneofThree=ptrOneofThree.next;
-					firstPtr.next = buckets[0];
-					ptrSecond.next = firstPtr;
-				} 
+			Node<String> next = ptr.next;
+			last = ptr == masterListRear;
+			int pos = ptr.data.length() - pass - 1;
+			int digit = pos < 0 ? 0 : Character.digit(ptr.data.charAt(pos), radix);
+			if (buckets[digit] == null) {
+				ptr.next = ptr;
+			} else {
+				ptr.next = buckets[digit].next;
+				buckets[digit].next = ptr;
 			}
-			else{
-			int digChar = Character.digit(ptrOneofThree.data.charAt(ptrOneofThree.data.length() - pass-1), radix);
-			if (buckets[digChar] == null) {
-				Node <String> firstPtr;
-				buckets[digChar] = ptrOneofThree;
-				firstPtr = ptrOneofThree;
-				ptrOneofThree = ptrOneofThree.next;
-				firstPtr.next=firstPtr;
-			} 
-			else {
-				Node ptrThird = buckets[digChar];
-				while (ptrThird.next != buckets[digChar]) {
-					ptrThird = ptrThird.next;
-				}
-				Node <String> firstPtr;
-				firstPtr=ptrOneofThree;
-				ptrOneofThree=ptrOneofThree.next;
-				ptrThird.next = firstPtr;
-				firstPtr.next = buckets[digChar];
-				}
-			}
-		} while (ptrOneofThree != masterListRear);
+			buckets[digit] = ptr;
+			ptr = next;
+		} while (!last);
 	}
 
 	/**
 	 * Gathers all the CLLs in all the buckets into the master list, referenced
-	 * by the instance field masterListRear
+	 * by the instance field masterListRear. Each bucket is spliced in whole, so this
+	 * is O(radix).
 	 * 
 	 * @param buckets Buckets of CLLs
 	 */
 	public void gather() {
 		masterListRear = null;
-		Node <String> firstPtr = masterListRear;
-		for(int i = 0; i < buckets.length; i++){
-			if(buckets[i] == null){
+		for (int i = 0; i < buckets.length; i++) {
+			if (buckets[i] == null) {
 				continue;
 			}
-			else {
-				if(masterListRear == null){
-					masterListRear=buckets[i];
-					firstPtr=masterListRear;
-				}
-				else{
-					firstPtr.next=buckets[i];
-					firstPtr=firstPtr.next;
-				}
-				while(firstPtr.next != buckets[i]){
-					firstPtr = firstPtr.next;
-				}
+			if (masterListRear != null) {
+				Node<String> front = buckets[i].next;
+				buckets[i].next = masterListRear.next;
+				masterListRear.next = front;
 			}
+			masterListRear = buckets[i];
+			buckets[i] = null;
 		}
-		for(int i = 0; i<buckets.length; i++) {
-			buckets[i]=null;
+	}
+
+	/**
+	 * Writes out the items in all the buckets, in order, and then gathers them into
+	 * the master list like gather().
+	 * 
+	 * @param out Writer for the items
+	 * @throws IOException If the output cannot be written
+	 */
+	public void gather(ItemWriter out) throws IOException {
+		for (int i = 0; i < buckets.length; i++) {
+			out.write(buckets[i]);
 		}
-		firstPtr.next=masterListRear;
-		masterListRear=firstPtr;
-		Sorter.printCLL(masterListRear);
+		gather();
 	}
 }	
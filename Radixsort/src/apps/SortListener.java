@@ -0,0 +1,38 @@
+package apps;
+
+import structures.Node;
+
+/**
+ * Receives pass-by-pass events from the radix sort. No listener is installed
+ * by default, so the sort does no tracing work at all unless asked to.
+ */
+public interface SortListener {
+
+	/**
+	 * Prints the master list before and after every pass, the way the sort used to.
+	 */
+	public static final SortListener CONSOLE = new SortListener() {
+		public void passStarted(int pass, Node<String> masterListRear) {
+			Sorter.printCLL(masterListRear);
+		}
+		public void passFinished(int pass, Node<String> masterListRear) {
+			Sorter.printCLL(masterListRear);
+		}
+	};
+
+	/**
+	 * Called before the items are scattered for a pass.
+	 * 
+	 * @param pass Pass is 0 for rightmost digit, 1 for second to rightmost, etc
+	 * @param masterListRear Rear of the master list, before the pass
+	 */
+	void passStarted(int pass, Node<String> masterListRear);
+
+	/**
+	 * Called after the buckets have been gathered for a pass.
+	 * 
+	 * @param pass Pass is 0 for rightmost digit, 1 for second to rightmost, etc
+	 * @param masterListRear Rear of the master list, after the pass
+	 */
+	void passFinished(int pass, Node<String> masterListRear);
+}
@@ -1,6 +1,5 @@
 package apps;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Scanner;
 
@@ -14,32 +13,55 @@ public class Sorter {
 		Scanner sysin = new Scanner(System.in);
 		System.out.print("Enter input file name: ");
 		String inFile = sysin.next();
+		System.out.print("Enter output file name, or - for the console: ");
+		String outFile = sysin.next();
 				
 		// create new Radixsort object, using default constructor
 		Radixsort rs = new Radixsort();
 		
-		// sort the items in the input file
-		Scanner sc = new Scanner(new File(inFile));
-		Node<String> output = rs.sort(sc);
-		
-		// print output
-		System.out.println("\nSorted Result:");
-		printCLL(output);
+		// sort the items in the input file, writing them out as the last pass gathers them
+		boolean console = outFile.equals("-");
+		ItemWriter out = console ? new ItemWriter(System.out) : ItemWriter.open(outFile);
+		RadixReader in = RadixReader.open(inFile);
+		try {
+			if (console) {
+				out.write("");
+				out.write("Sorted Result:");
+			}
+			rs.sort(in, out);
+			if (console) {
+				out.write("");
+			}
+		} finally {
+			in.close();
+			if (console) {
+				out.flush();
+			} else {
+				out.close();
+			}
+		}
+		System.out.printf("Read %d items at %.0f lines/second%n", in.items(), in.linesPerSecond());
 		
 	}
 
 	/**
-	 * Prints the items in a CLL
+	 * Prints the items in a CLL, through one buffered write instead of a println per item
 	 */
 	public static<T> void printCLL(Node<T> rear) {
 		if (rear == null) {
 			return;
 		}
-		Node<T> ptr = rear;
-		do {
-			ptr = ptr.next;
-			System.out.println(ptr.data);
-		} while (ptr != rear);
-		System.out.println();
+		ItemWriter out = new ItemWriter(System.out);
+		try {
+			Node<T> ptr = rear;
+			do {
+				ptr = ptr.next;
+				out.write(String.valueOf(ptr.data));
+			} while (ptr != rear);
+			out.write("");
+			out.flush();
+		} catch (IOException e) {
+			// System.out never reports errors
+		}
 	}
 }
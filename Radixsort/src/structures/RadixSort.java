@@ -0,0 +1,507 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * Stable radix sorts for primitive arrays, strings, byte strings, and objects
+ * sorted on a long key.
+ *
+ * Numeric keys are sorted with LSD counting passes, moving keys back and forth
+ * between the array and one buffer of the same size. Only the span of bits that
+ * varies among the keys is sorted, with digits of 8, 11 or 16 bits chosen from
+ * the number of keys and the span (see digitBits), so 64-bit keys take 4 to 8
+ * passes at most, whatever radix they were written in. Signed keys
+ * have their sign bit flipped, and floating-point keys are turned into integers
+ * of the same order (all bits flipped for negatives, only the sign bit for the
+ * rest), so every key is sorted as an unsigned integer. Digits in which no two
+ * keys differ are skipped without a pass.
+ *
+ * Strings and byte strings are sorted lexicographically with MSD counting passes
+ * (a string that is a prefix of another comes first), finishing small buckets
+ * with an insertion sort.
+ */
+public class RadixSort {
+
+	/**
+	 * Extracts the key an object is sorted on.
+	 */
+	public interface LongKey<T> {
+		/**
+		 * Returns the sort key of an item.
+		 *
+		 * @param item Item
+		 * @return Key, compared as a signed long
+		 */
+		long key(T item);
+	}
+
+	/**
+	 * Digit widths, in bits, that LSD passes choose from.
+	 */
+	static final int[] WIDTHS = {8, 11, 16};
+
+	/**
+	 * Smallest number of keys for which 11-bit and 16-bit digits pay off.
+	 */
+	static final int MIN_KEYS_11 = 1 << 18, MIN_KEYS_16 = 1 << 22;
+
+	/**
+	 * MSD buckets with at most this many items are insertion sorted.
+	 */
+	static final int CUTOFF = 16;
+
+	private RadixSort() {
+	}
+
+	/**
+	 * Sorts ints in ascending order.
+	 *
+	 * @param a Array to sort
+	 */
+	public static void sort(int[] a) {
+		for (int i=0; i < a.length; i++) {
+			a[i] ^= Integer.MIN_VALUE;
+		}
+		lsd(a, 0);
+		for (int i=0; i < a.length; i++) {
+			a[i] ^= Integer.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Sorts longs in ascending order.
+	 *
+	 * @param a Array to sort
+	 */
+	public static void sort(long[] a) {
+		for (int i=0; i < a.length; i++) {
+			a[i] ^= Long.MIN_VALUE;
+		}
+		lsd(a, null, 0);
+		for (int i=0; i < a.length; i++) {
+			a[i] ^= Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Sorts floats in the same order as Arrays.sort: -0.0f before 0.0f, and NaN
+	 * last. Every NaN comes out as Float.NaN.
+	 *
+	 * @param a Array to sort
+	 */
+	public static void sort(float[] a) {
+		int[] bits = new int[a.length];
+		for (int i=0; i < a.length; i++) {
+			bits[i] = sortableBits(a[i]) ^ Integer.MIN_VALUE;
+		}
+		lsd(bits, 0);
+		for (int i=0; i < a.length; i++) {
+			int k = bits[i] ^ Integer.MIN_VALUE;
+			a[i] = Float.intBitsToFloat(k ^ ((k >> 31) & Integer.MAX_VALUE));
+		}
+	}
+
+	/**
+	 * Sorts doubles in the same order as Arrays.sort: -0.0 before 0.0, and NaN
+	 * last. Every NaN comes out as Double.NaN.
+	 *
+	 * @param a Array to sort
+	 */
+	public static void sort(double[] a) {
+		long[] bits = new long[a.length];
+		for (int i=0; i < a.length; i++) {
+			bits[i] = sortableBits(a[i]) ^ Long.MIN_VALUE;
+		}
+		lsd(bits, null, 0);
+		for (int i=0; i < a.length; i++) {
+			long k = bits[i] ^ Long.MIN_VALUE;
+			a[i] = Double.longBitsToDouble(k ^ ((k >> 63) & Long.MAX_VALUE));
+		}
+	}
+
+	/**
+	 * Maps a float to an int such that comparing the ints as signed values gives
+	 * the order of Float.compare.
+	 *
+	 * @param f Float
+	 * @return Sortable bits
+	 */
+	public static int sortableBits(float f) {
+		int b = Float.floatToIntBits(f);
+		return b ^ ((b >> 31) & Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Maps a double to a long such that comparing the longs as signed values gives
+	 * the order of Double.compare.
+	 *
+	 * @param d Double
+	 * @return Sortable bits
+	 */
+	public static long sortableBits(double d) {
+		long b = Double.doubleToLongBits(d);
+		return b ^ ((b >> 63) & Long.MAX_VALUE);
+	}
+
+	/**
+	 * Sorts longs in ascending order, applying the same moves to a parallel array
+	 * of ints. Values with equal keys keep their relative order.
+	 *
+	 * @param keys Keys to sort
+	 * @param values Values, permuted along with the keys
+	 */
+	public static void sort(long[] keys, int[] values) {
+		if (values.length != keys.length) {
+			throw new IllegalArgumentException("Keys: " + keys.length + ", Values: " + values.length);
+		}
+		for (int i=0; i < keys.length; i++) {
+			keys[i] ^= Long.MIN_VALUE;
+		}
+		lsd(keys, values, 0);
+		for (int i=0; i < keys.length; i++) {
+			keys[i] ^= Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Sorts objects in ascending order of a long key. Each key is extracted once.
+	 * Objects with equal keys keep their relative order.
+	 *
+	 * @param a Array to sort
+	 * @param key Key extractor; use sortableBits for floating-point keys
+	 */
+	public static <T> void sort(T[] a, LongKey<? super T> key) {
+		int n = a.length;
+		long[] keys = new long[n];
+		int[] order = new int[n];
+		for (int i=0; i < n; i++) {
+			keys[i] = key.key(a[i]) ^ Long.MIN_VALUE;
+			order[i] = i;
+		}
+		lsd(keys, order, 0);
+		T[] copy = a.clone();
+		for (int i=0; i < n; i++) {
+			a[i] = copy[order[i]];
+		}
+	}
+
+	/**
+	 * Sorts strings in the order of String.compareTo. Equal strings keep their
+	 * relative order.
+	 *
+	 * @param a Array to sort
+	 */
+	public static void sort(String[] a) {
+		new Msd<String>(a) {
+			int digit(String s, int d) {
+				// two digits per char, high byte first
+				if (d >= 2*s.length()) {
+					return 0;
+				}
+				char c = s.charAt(d >> 1);
+				return ((d & 1) == 0 ? c >>> 8 : c & 0xff) + 1;
+			}
+			int compare(String x, String y, int d) {
+				return x.compareTo(y);
+			}
+		}.sort();
+	}
+
+	/**
+	 * Sorts byte strings lexicographically, comparing bytes as unsigned values.
+	 * Equal byte strings keep their relative order.
+	 *
+	 * @param a Array to sort
+	 */
+	public static void sort(byte[][] a) {
+		new Msd<byte[]>(a) {
+			int digit(byte[] s, int d) {
+				return d < s.length ? (s[d] & 0xff) + 1 : 0;
+			}
+			int compare(byte[] x, byte[] y, int d) {
+				int n = Math.min(x.length, y.length);
+				for (; d < n; d++) {
+					int diff = (x[d] & 0xff) - (y[d] & 0xff);
+					if (diff != 0) {
+						return diff;
+					}
+				}
+				return x.length - y.length;
+			}
+		}.sort();
+	}
+
+	/**
+	 * Chooses the digit width for LSD passes over n keys that differ only in a
+	 * span of bits. A wider digit saves passes but needs a larger histogram, which
+	 * must be cleared and summed every pass and, once it outgrows the cache, turns
+	 * most scattered writes into cache misses; so a wider digit is only taken when it
+	 * saves a pass and there are enough keys to pay for its histogram. The thresholds
+	 * come from RadixTune.
+	 *
+	 * @param n Number of keys
+	 * @param span Number of bits that vary among the keys
+	 * @return Digit width in bits: 8, 11 or 16
+	 */
+	public static int digitBits(int n, int span) {
+		int best = 8;
+		for (int w: WIDTHS) {
+			if (n >= minKeys(w) && passes(span, w) < passes(span, best)) {
+				best = w;
+			}
+		}
+		return best;
+	}
+
+	private static int minKeys(int bits) {
+		return bits <= 8 ? 0 : bits <= 11 ? MIN_KEYS_11 : MIN_KEYS_16;
+	}
+
+	private static int passes(int span, int bits) {
+		return (span + bits - 1) / bits;
+	}
+
+	/**
+	 * Sorts longs in ascending order with a given digit width, instead of the one
+	 * chosen by digitBits; meant for tuning.
+	 *
+	 * @param a Array to sort
+	 * @param bits Digit width in bits, from 1 to 16
+	 */
+	public static void sort(long[] a, int bits) {
+		if (bits < 1 || bits > 16) {
+			throw new IllegalArgumentException("Digit width must be 1 to 16 bits: " + bits);
+		}
+		for (int i=0; i < a.length; i++) {
+			a[i] ^= Long.MIN_VALUE;
+		}
+		lsd(a, null, bits);
+		for (int i=0; i < a.length; i++) {
+			a[i] ^= Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * LSD sort of ints as unsigned values.
+	 *
+	 * @param bits Digit width, or 0 to choose it with digitBits
+	 */
+	static void lsd(int[] keys, int bits) {
+		int n = keys.length;
+		if (n < 2) {
+			return;
+		}
+		int diff = 0, first = keys[0];
+		for (int k: keys) {
+			diff |= k ^ first;
+		}
+		if (diff == 0) {
+			return;
+		}
+		// only the bits from the lowest to the highest that vary need sorting
+		int low = Integer.numberOfTrailingZeros(diff);
+		int span = 32 - Integer.numberOfLeadingZeros(diff) - low;
+		if (bits == 0) {
+			bits = digitBits(n, span);
+		}
+		int mask = (1 << bits) - 1;
+		int passes = passes(span, bits);
+		int[][] count = histograms(passes, (diff & 0xffffffffL) >>> low, bits);
+		for (int k: keys) {
+			for (int p=0; p < passes; p++) {
+				if (count[p] != null) {
+					count[p][(k >>> (low + p*bits)) & mask]++;
+				}
+			}
+		}
+		int[] src = keys, dst = new int[n];
+		for (int p=0; p < passes; p++) {
+			int[] c = count[p];
+			if (c == null) {
+				continue;
+			}
+			offsets(c);
+			int shift = low + p*bits;
+			for (int i=0; i < n; i++) {
+				int k = src[i];
+				dst[c[(k >>> shift) & mask]++] = k;
+			}
+			int[] t = src; src = dst; dst = t;
+		}
+		if (src != keys) {
+			System.arraycopy(src, 0, keys, 0, n);
+		}
+	}
+
+	/**
+	 * LSD sort of longs as unsigned values, optionally carrying int values along.
+	 *
+	 * @param bits Digit width, or 0 to choose it with digitBits
+	 */
+	static void lsd(long[] keys, int[] values, int bits) {
+		int n = keys.length;
+		if (n < 2) {
+			return;
+		}
+		long diff = 0, first = keys[0];
+		for (long k: keys) {
+			diff |= k ^ first;
+		}
+		if (diff == 0) {
+			return;
+		}
+		// only the bits from the lowest to the highest that vary need sorting
+		int low = Long.numberOfTrailingZeros(diff);
+		int span = 64 - Long.numberOfLeadingZeros(diff) - low;
+		if (bits == 0) {
+			bits = digitBits(n, span);
+		}
+		int mask = (1 << bits) - 1;
+		int passes = passes(span, bits);
+		int[][] count = histograms(passes, diff >>> low, bits);
+		for (long k: keys) {
+			for (int p=0; p < passes; p++) {
+				if (count[p] != null) {
+					count[p][(int)(k >>> (low + p*bits)) & mask]++;
+				}
+			}
+		}
+		long[] src = keys, dst = new long[n];
+		int[] srcValues = values, dstValues = values == null ? null : new int[n];
+		for (int p=0; p < passes; p++) {
+			int[] c = count[p];
+			if (c == null) {
+				continue;
+			}
+			offsets(c);
+			int shift = low + p*bits;
+			if (values == null) {
+				for (int i=0; i < n; i++) {
+					long k = src[i];
+					dst[c[(int)(k >>> shift) & mask]++] = k;
+				}
+			} else {
+				for (int i=0; i < n; i++) {
+					long k = src[i];
+					int j = c[(int)(k >>> shift) & mask]++;
+					dst[j] = k;
+					dstValues[j] = srcValues[i];
+				}
+				int[] t = srcValues; srcValues = dstValues; dstValues = t;
+			}
+			long[] t = src; src = dst; dst = t;
+		}
+		if (src != keys) {
+			System.arraycopy(src, 0, keys, 0, n);
+			if (values != null) {
+				System.arraycopy(srcValues, 0, values, 0, n);
+			}
+		}
+	}
+
+	/**
+	 * Allocates a histogram for every pass over a digit in which some keys differ.
+	 *
+	 * @param diff Bits that vary among the keys, shifted down to the first pass
+	 */
+	private static int[][] histograms(int passes, long diff, int bits) {
+		int[][] count = new int[passes][];
+		for (int p=0; p < passes; p++) {
+			if (((diff >>> (p*bits)) & ((1 << bits) - 1)) != 0) {
+				count[p] = new int[1 << bits];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Turns digit counts into the starting position of every digit.
+	 */
+	private static void offsets(int[] c) {
+		for (int b=0, sum=0; b < c.length; b++) {
+			int t = c[b];
+			c[b] = sum;
+			sum += t;
+		}
+	}
+
+	/**
+	 * Stable MSD radix sort of strings of 8-bit digits. Digit 0 marks the end of a
+	 * string, so shorter strings come before their extensions.
+	 */
+	private static abstract class Msd<T> {
+		final T[] a, aux;
+		final int[] count = new int[258];
+
+		Msd(T[] a) {
+			this.a = a;
+			aux = a.clone();
+		}
+
+		/**
+		 * Returns digit d of a string, from 1 to 256, or 0 past its end.
+		 */
+		abstract int digit(T s, int d);
+
+		/**
+		 * Compares two strings that are known to be equal in their first d digits.
+		 */
+		abstract int compare(T x, T y, int d);
+
+		void sort() {
+			// an explicit stack of (lo, hi, d) ranges, since strings can be long
+			int[] stack = new int[48];
+			int top = 0;
+			int lo = 0, hi = a.length, d = 0;
+			for (;;) {
+				if (hi - lo <= CUTOFF) {
+					insertionSort(lo, hi, d);
+				} else {
+					Arrays.fill(count, 0);
+					for (int i=lo; i < hi; i++) {
+						count[digit(a[i], d) + 1]++;
+					}
+					for (int b=0; b < 257; b++) {
+						count[b+1] += count[b];
+					}
+					for (int i=lo; i < hi; i++) {
+						aux[lo + count[digit(a[i], d)]++] = a[i];
+					}
+					System.arraycopy(aux, lo, a, lo, hi - lo);
+					// count[b] is now the end of bucket b; bucket 0 holds strings that have ended
+					int from = lo + count[0];
+					for (int b=1; b < 257; b++) {
+						int to = lo + count[b];
+						if (to - from > 1) {
+							if (top + 3 > stack.length) {
+								stack = Arrays.copyOf(stack, stack.length*2);
+							}
+							stack[top++] = from;
+							stack[top++] = to;
+							stack[top++] = d+1;
+						}
+						from = to;
+					}
+				}
+				if (top == 0) {
+					return;
+				}
+				d = stack[--top];
+				hi = stack[--top];
+				lo = stack[--top];
+			}
+		}
+
+		private void insertionSort(int lo, int hi, int d) {
+			for (int i=lo+1; i < hi; i++) {
+				T s = a[i];
+				int j = i;
+				while (j > lo && compare(a[j-1], s, d) > 0) {
+					a[j] = a[j-1];
+					j--;
+				}
+				a[j] = s;
+			}
+		}
+	}
+}